@@ -3,7 +3,9 @@ package com.chung.taskcrud.auth.admin.service.impl;
 import com.chung.taskcrud.auth.admin.dto.request.*;
 import com.chung.taskcrud.auth.admin.dto.response.PermissionResponse;
 import com.chung.taskcrud.auth.admin.service.AdminPermissionService;
+import com.chung.taskcrud.auth.cache.AuthSnapshotCache;
 import com.chung.taskcrud.auth.entity.Permission;
+import com.chung.taskcrud.auth.helper.PermissionRegistry;
 import com.chung.taskcrud.auth.repository.PermissionRepository;
 import com.chung.taskcrud.common.exception.AppException;
 import com.chung.taskcrud.common.exception.ErrorCode;
@@ -19,6 +21,8 @@ import java.util.List;
 public class AdminPermissionServiceImpl implements AdminPermissionService {
 
     private final PermissionRepository permissionRepository;
+    private final PermissionRegistry permissionRegistry;
+    private final AuthSnapshotCache authSnapshotCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -42,6 +46,8 @@ public class AdminPermissionServiceImpl implements AdminPermissionService {
                 .build();
 
         permissionRepository.save(p);
+        // permission mới / đổi tên => registry đổi version, access token cũ phải ký lại
+        permissionRegistry.reloadAfterCommit();
         return toResponse(p);
     }
 
@@ -60,6 +66,7 @@ public class AdminPermissionServiceImpl implements AdminPermissionService {
                     throw new AppException(ErrorCode.PERMISSION_ALREADY_EXISTS, "Permission name already exists: " + newName);
                 });
                 p.setName(newName);
+                authSnapshotCache.evictAll();
             }
         }
 
@@ -69,6 +76,8 @@ public class AdminPermissionServiceImpl implements AdminPermissionService {
         }
 
         permissionRepository.save(p);
+        // permission mới / đổi tên => registry đổi version, access token cũ phải ký lại
+        permissionRegistry.reloadAfterCommit();
         return toResponse(p);
     }
 
@@ -77,6 +86,8 @@ public class AdminPermissionServiceImpl implements AdminPermissionService {
         Permission p = permissionRepository.findById(permissionId)
                 .orElseThrow(() -> new AppException(ErrorCode.PERMISSION_NOT_FOUND));
         permissionRepository.delete(p);
+        authSnapshotCache.evictAll();
+        permissionRegistry.reloadAfterCommit();
     }
 
     private PermissionResponse toResponse(Permission p) {
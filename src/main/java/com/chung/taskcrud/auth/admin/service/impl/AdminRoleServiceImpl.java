@@ -3,6 +3,7 @@ package com.chung.taskcrud.auth.admin.service.impl;
 import com.chung.taskcrud.auth.admin.dto.request.*;
 import com.chung.taskcrud.auth.admin.dto.response.RoleResponse;
 import com.chung.taskcrud.auth.admin.service.AdminRoleService;
+import com.chung.taskcrud.auth.cache.AuthSnapshotCache;
 import com.chung.taskcrud.auth.entity.Permission;
 import com.chung.taskcrud.auth.entity.Role;
 import com.chung.taskcrud.auth.repository.PermissionRepository;
@@ -23,6 +24,7 @@ public class AdminRoleServiceImpl implements AdminRoleService {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final AuthSnapshotCache authSnapshotCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -62,6 +64,8 @@ public class AdminRoleServiceImpl implements AdminRoleService {
 
         if (request.getPermissionNames() != null) {
             role.setPermissions(resolvePermissionsOrThrow(request.getPermissionNames()));
+            // mọi user có role này đổi permission
+            authSnapshotCache.evictAll();
         }
 
         roleRepository.save(role);
@@ -73,6 +77,7 @@ public class AdminRoleServiceImpl implements AdminRoleService {
         Role role = roleRepository.findById(roleId)
                 .orElseThrow(() -> new AppException(ErrorCode.ROLE_NOT_FOUND));
         roleRepository.delete(role);
+        authSnapshotCache.evictAll();
     }
 
     private Set<Permission> resolvePermissionsOrThrow(List<String> permissionNames) {
@@ -3,6 +3,7 @@ package com.chung.taskcrud.auth.admin.service.impl;
 import com.chung.taskcrud.auth.admin.dto.request.*;
 import com.chung.taskcrud.auth.admin.dto.response.*;
 import com.chung.taskcrud.auth.admin.service.AdminUserService;
+import com.chung.taskcrud.auth.cache.AuthSnapshotCache;
 import com.chung.taskcrud.auth.entity.Permission;
 import com.chung.taskcrud.auth.entity.Role;
 import com.chung.taskcrud.auth.entity.User;
@@ -26,6 +27,7 @@ import java.util.stream.Collectors;
 public class AdminUserServiceImpl implements AdminUserService {
 
     private final UserRepository userRepository;
+    private final AuthSnapshotCache authSnapshotCache;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -84,6 +86,7 @@ public class AdminUserServiceImpl implements AdminUserService {
         if (request.getEnabled() != null) user.setEnabled(request.getEnabled());
 
         userRepository.save(user);
+        if (request.getEnabled() != null) authSnapshotCache.evictUser(userId);
         return toUserDetail(user);
     }
 
@@ -93,6 +96,7 @@ public class AdminUserServiceImpl implements AdminUserService {
         // “xóa” theo hướng an toàn: disable tài khoản
         user.setEnabled(false);
         userRepository.save(user);
+        authSnapshotCache.evictUser(userId);
     }
 
     @Override
@@ -103,6 +107,7 @@ public class AdminUserServiceImpl implements AdminUserService {
         user.setRoles(roles);
 
         userRepository.save(user);
+        authSnapshotCache.evictUser(userId);
         return toUserDetail(user);
     }
 
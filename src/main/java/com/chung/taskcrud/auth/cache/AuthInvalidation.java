@@ -0,0 +1,17 @@
+package com.chung.taskcrud.auth.cache;
+
+// userId = null: bỏ hết snapshot (đổi role / permission ảnh hưởng nhiều user)
+public record AuthInvalidation(Long userId) {
+
+    public static AuthInvalidation user(Long userId) {
+        return new AuthInvalidation(userId);
+    }
+
+    public static AuthInvalidation all() {
+        return new AuthInvalidation(null);
+    }
+
+    public boolean isAll() {
+        return userId == null;
+    }
+}
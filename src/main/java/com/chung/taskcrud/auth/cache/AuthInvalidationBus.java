@@ -0,0 +1,16 @@
+package com.chung.taskcrud.auth.cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Phát invalidation của AuthSnapshotCache tới mọi node.
+ * Chọn implementation bằng app.auth.invalidation.mode: jvm (1 node) hoặc db (mặc định, polling bảng auth_invalidations).
+ */
+public interface AuthInvalidationBus {
+
+    // gọi trong transaction thay đổi user / role / permission: listener (mọi node, kể cả node này) nhận sau commit
+    void publish(Collection<AuthInvalidation> invalidations);
+
+    void subscribe(Consumer<Collection<AuthInvalidation>> listener);
+}
@@ -0,0 +1,29 @@
+package com.chung.taskcrud.auth.cache;
+
+import java.util.List;
+
+/**
+ * Dữ liệu auth của 1 user đã flatten (roles -> permissions), đủ cho login / refresh / ký access token
+ * mà không load lại User + roles + permissions.
+ */
+public record AuthSnapshot(
+        Long userId,
+        String email,
+        String passwordHash,
+        boolean enabled,
+        List<String> roles,
+        List<String> permissions
+) {
+
+    public AuthSnapshot {
+        roles = List.copyOf(roles);
+        permissions = List.copyOf(permissions);
+    }
+
+    // không để password hash lọt ra log
+    @Override
+    public String toString() {
+        return "AuthSnapshot[userId=" + userId + ", email=" + email + ", enabled=" + enabled
+                + ", roles=" + roles + ", permissions=" + permissions + "]";
+    }
+}
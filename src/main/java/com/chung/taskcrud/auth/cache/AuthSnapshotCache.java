@@ -0,0 +1,138 @@
+package com.chung.taskcrud.auth.cache;
+
+import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.helper.AuthUserMapper;
+import com.chung.taskcrud.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache AuthSnapshot theo user id (+ index email) cho login / refresh / UserDetailsService.
+ * - miss: 1 query User + roles + permissions (entity graph) rồi flatten
+ * - đổi user / role / permission phải gọi evict*: đi qua AuthInvalidationBus nên mọi node đều bỏ snapshot sau commit
+ * - TTL chỉ là lưới an toàn nếu invalidation bị sót
+ */
+@Component
+public class AuthSnapshotCache {
+
+    private static final int MAX_USERS = 10_000;
+
+    private final UserRepository userRepository;
+    private final AuthUserMapper userMapper;
+    private final AuthInvalidationBus invalidationBus;
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>();
+    // tăng mỗi lần invalidate: snapshot đọc từ DB trước lúc đó sẽ không được put vào cache
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthSnapshotCache(
+            UserRepository userRepository,
+            AuthUserMapper userMapper,
+            AuthInvalidationBus invalidationBus,
+            @Value("${app.auth.snapshot-cache.ttl-ms:300000}") long ttlMillis
+    ) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.invalidationBus = invalidationBus;
+        this.ttlMillis = ttlMillis;
+
+        invalidationBus.subscribe(this::apply);
+    }
+
+    public Optional<AuthSnapshot> findByEmail(String email) {
+        Long id = idByEmail.get(email);
+        if (id != null) {
+            AuthSnapshot s = cached(id);
+            // email có thể đã đổi: index cũ trỏ sang user khác email thì coi như miss
+            if (s != null && s.email().equals(email)) return Optional.of(s);
+        }
+
+        long gen = generation.get();
+        Optional<AuthSnapshot> loaded = userRepository.findByEmail(email).map(this::toSnapshot);
+        loaded.ifPresent(s -> put(s, gen));
+        return loaded;
+    }
+
+    public Optional<AuthSnapshot> findById(Long userId) {
+        AuthSnapshot s = cached(userId);
+        if (s != null) return Optional.of(s);
+
+        long gen = generation.get();
+        Optional<AuthSnapshot> loaded = userRepository.findWithRolesById(userId).map(this::toSnapshot);
+        loaded.ifPresent(x -> put(x, gen));
+        return loaded;
+    }
+
+    // gọi trong transaction sửa user (enabled, password, email, roles)
+    public void evictUser(Long userId) {
+        if (userId == null) return;
+        invalidationBus.publish(List.of(AuthInvalidation.user(userId)));
+    }
+
+    // gọi trong transaction sửa role / permission: không biết user nào bị ảnh hưởng nên bỏ hết
+    public void evictAll() {
+        invalidationBus.publish(List.of(AuthInvalidation.all()));
+    }
+
+    private AuthSnapshot cached(Long userId) {
+        Entry e = byId.get(userId);
+        if (e == null) return null;
+        if (System.currentTimeMillis() - e.loadedAt >= ttlMillis) {
+            remove(userId);
+            return null;
+        }
+        return e.snapshot;
+    }
+
+    private void put(AuthSnapshot s, long gen) {
+        if (generation.get() != gen) return;
+
+        if (byId.size() >= MAX_USERS && !byId.containsKey(s.userId())) clear();
+        byId.put(s.userId(), new Entry(s, System.currentTimeMillis()));
+        idByEmail.put(s.email(), s.userId());
+    }
+
+    private void apply(Collection<AuthInvalidation> invalidations) {
+        generation.incrementAndGet();
+        for (AuthInvalidation i : invalidations) {
+            if (i.isAll()) {
+                clear();
+                return;
+            }
+            remove(i.userId());
+        }
+    }
+
+    private void remove(Long userId) {
+        Entry e = byId.remove(userId);
+        if (e != null) idByEmail.remove(e.snapshot.email(), userId);
+    }
+
+    private void clear() {
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    private AuthSnapshot toSnapshot(User u) {
+        return new AuthSnapshot(
+                u.getId(),
+                u.getEmail(),
+                u.getPassword(),
+                u.isEnabled(),
+                userMapper.extractRoleNames(u),
+                userMapper.extraPermissionNames(u)
+        );
+    }
+
+    private record Entry(AuthSnapshot snapshot, long loadedAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.chung.taskcrud.auth.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Chỉ đúng khi chạy 1 node: invalidation không ra khỏi JVM
+@Component
+@ConditionalOnProperty(name = "app.auth.invalidation.mode", havingValue = "jvm")
+public class InJvmAuthInvalidationBus implements AuthInvalidationBus {
+
+    private final List<Consumer<Collection<AuthInvalidation>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Collection<AuthInvalidation> invalidations) {
+        if (invalidations.isEmpty()) return;
+
+        List<AuthInvalidation> copy = List.copyOf(invalidations);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(copy);
+                }
+            });
+        } else {
+            deliver(copy);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<AuthInvalidation>> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(Collection<AuthInvalidation> invalidations) {
+        listeners.forEach(l -> l.accept(invalidations));
+    }
+}
@@ -0,0 +1,177 @@
+package com.chung.taskcrud.auth.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Invalidation qua bảng auth_invalidations (V9), dùng khi chạy nhiều node.
+ * - publish INSERT trong cùng transaction với thay đổi: rollback thì không có invalidation; node này nhận ngay sau commit
+ * - sau commit, created_at được stamp lại = now(6) (transaction riêng): created_at lúc INSERT là giờ insert,
+ *   transaction commit chậm hơn lookback thì row hiện ra khi đã nằm ngoài cửa sổ và node khác không bao giờ thấy.
+ *   Stamp lỗi (vd node chết ngay sau commit) thì chỉ còn TTL của AuthSnapshotCache
+ * - mọi node poll các row trong cửa sổ lookback theo created_at (clock DB), bỏ qua id đã nhận.
+ *   Không dùng "id > lastId": id auto_increment cấp lúc insert, transaction commit sau có thể mang id nhỏ hơn
+ * - poll lỗi lâu hơn lookback (có thể sót row) hoặc lần poll đầu -> bỏ hết cache của node
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.auth.invalidation.mode", havingValue = "db", matchIfMissing = true)
+public class JdbcAuthInvalidationBus implements AuthInvalidationBus {
+
+    private static final int MAX_ROWS_PER_POLL = 1_000;
+    private static final long CLEANUP_INTERVAL_MS = 600_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate stampTx;
+    private final int lookbackSeconds;
+    private final int retentionSeconds;
+
+    private final List<Consumer<Collection<AuthInvalidation>>> listeners = new CopyOnWriteArrayList<>();
+
+    // chỉ poll() đụng tới (synchronized): id đã deliver -> lúc thấy
+    private final Map<Long, Long> delivered = new HashMap<>();
+    private long lastSuccessAt;
+    private long cleanedAt;
+
+    public JdbcAuthInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.auth.invalidation.lookback-seconds:30}") int lookbackSeconds,
+            @Value("${app.auth.invalidation.retention-seconds:3600}") int retentionSeconds
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lookbackSeconds = lookbackSeconds;
+        this.retentionSeconds = retentionSeconds;
+
+        // afterCommit: resource của transaction cũ vẫn bound, phải mở transaction mới mới commit được
+        this.stampTx = new TransactionTemplate(transactionManager);
+        this.stampTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void publish(Collection<AuthInvalidation> invalidations) {
+        if (invalidations.isEmpty()) return;
+
+        List<AuthInvalidation> copy = List.copyOf(invalidations);
+        String values = copy.stream().map(i -> "(?)").collect(Collectors.joining(","));
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into auth_invalidations (user_id) values " + values, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < copy.size(); i++) {
+                Long userId = copy.get(i).userId();
+                if (userId != null) ps.setLong(i + 1, userId);
+                else ps.setNull(i + 1, Types.BIGINT);
+            }
+            return ps;
+        }, keys);
+        List<Long> ids = keys.getKeyList().stream()
+                .map(k -> ((Number) k.values().iterator().next()).longValue())
+                .toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stampCommitted(ids);
+                    deliver(copy);
+                }
+            });
+        } else {
+            deliver(copy);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<AuthInvalidation>> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+
+        List<Row> rows;
+        try {
+            rows = jdbcTemplate.query("""
+                    select id, user_id from auth_invalidations
+                    where created_at >= date_sub(now(6), interval ? second)
+                    order by id
+                    limit ?
+                    """,
+                    (rs, i) -> new Row(rs.getLong("id"), rs.getObject("user_id", Long.class)),
+                    lookbackSeconds, MAX_ROWS_PER_POLL);
+        } catch (RuntimeException e) {
+            log.warn("Cannot poll auth invalidations: {}", e.toString());
+            return;
+        }
+
+        List<AuthInvalidation> fresh = new ArrayList<>();
+        for (Row r : rows) {
+            if (delivered.putIfAbsent(r.id, now) == null) fresh.add(new AuthInvalidation(r.userId));
+        }
+
+        // lần đầu, sau khoảng lỗi dài, hoặc quá nhiều row để chắc đã đọc hết: không biết đã sót gì -> bỏ hết
+        if (now - lastSuccessAt > lookbackSeconds * 1000L || rows.size() >= MAX_ROWS_PER_POLL) {
+            fresh = List.of(AuthInvalidation.all());
+        }
+        lastSuccessAt = now;
+
+        if (!fresh.isEmpty()) deliver(fresh);
+
+        delivered.values().removeIf(seenAt -> now - seenAt > 2L * lookbackSeconds * 1000L);
+        cleanup(now);
+    }
+
+    private void stampCommitted(List<Long> ids) {
+        if (ids.isEmpty()) return;
+
+        String in = ids.stream().map(id -> "?").collect(Collectors.joining(","));
+        try {
+            stampTx.executeWithoutResult(status -> jdbcTemplate.update(
+                    "update auth_invalidations set created_at = now(6) where id in (" + in + ")",
+                    ids.toArray()));
+        } catch (RuntimeException e) {
+            log.warn("Cannot stamp auth invalidations {} as committed: {}", ids, e.toString());
+        }
+    }
+
+    private void cleanup(long now) {
+        if (now - cleanedAt < CLEANUP_INTERVAL_MS) return;
+        cleanedAt = now;
+
+        try {
+            jdbcTemplate.update(
+                    "delete from auth_invalidations where created_at < date_sub(now(6), interval ? second) limit ?",
+                    retentionSeconds, MAX_ROWS_PER_POLL);
+        } catch (RuntimeException e) {
+            log.warn("Cannot clean up auth invalidations: {}", e.toString());
+        }
+    }
+
+    private void deliver(Collection<AuthInvalidation> invalidations) {
+        listeners.forEach(l -> l.accept(invalidations));
+    }
+
+    private record Row(long id, Long userId) {
+    }
+}
@@ -23,7 +23,7 @@ public class Role {
 
     private String description;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name="role_permissions",
             joinColumns=@JoinColumn(name="role_id"),
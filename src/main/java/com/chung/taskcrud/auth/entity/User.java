@@ -37,7 +37,8 @@ public class User {
     @Column(nullable = false)
     private Instant updatedAt;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // LAZY: Task/Comment/Notification chỉ cần user làm FK; auth load kèm qua UserRepository.findByEmail (EntityGraph)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,173 @@
+package com.chung.taskcrud.auth.helper;
+
+import com.chung.taskcrud.auth.entity.Permission;
+import com.chung.taskcrud.auth.repository.PermissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Danh sách permission (bảng permissions, RbacSeeder seed) đánh số theo thứ tự id, dùng cho claim bitset trong access token.
+ * - bit i = permission thứ i; version = hash của (id, name) nên thêm / đổi tên / xoá permission là đổi version
+ * - token mang version cũ bị từ chối (401) -> client refresh để lấy token mới
+ * - mỗi permission có sẵn 1 GrantedAuthority dùng chung, decode không tạo authority mới
+ * Reload định kỳ (permission đổi ở node khác) và sau commit khi admin sửa permission trên node này.
+ */
+@Slf4j
+@Component
+public class PermissionRegistry {
+
+    private static final long MIN_RELOAD_INTERVAL_MS = 1_000;
+    private static final int MAX_DECODED_SETS = 1_000;
+
+    private final PermissionRepository permissionRepository;
+
+    private volatile Snapshot snapshot;
+    private volatile long reloadedAt;
+
+    // nhiều user dùng chung 1 tập permission: cache kết quả decode theo (version, bitset)
+    private final Map<String, List<GrantedAuthority>> decoded = new ConcurrentHashMap<>();
+
+    public PermissionRegistry(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    public String version() {
+        return current().version;
+    }
+
+    // permission không có trong registry (vd vừa tạo ở node khác) -> reload 1 lần rồi mới bỏ qua
+    public Encoded encode(Collection<String> permissionNames) {
+        Snapshot s = current();
+        if (!s.indexByName.keySet().containsAll(permissionNames)) {
+            s = reloadIfAllowed();
+        }
+
+        BitSet bits = new BitSet(s.authorities.size());
+        for (String name : permissionNames) {
+            Integer index = s.indexByName.get(name);
+            if (index != null) {
+                bits.set(index);
+            } else {
+                log.warn("Permission {} is not in registry {}, left out of token", name, s.version);
+            }
+        }
+        return new Encoded(s.version, Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray()));
+    }
+
+    // version không khớp hoặc bitset hỏng -> empty
+    public Optional<List<GrantedAuthority>> decode(String version, String encodedBits) {
+        if (version == null || encodedBits == null) return Optional.empty();
+
+        Snapshot s = current();
+        if (!s.version.equals(version)) {
+            // token có thể do node khác ký với registry mới hơn
+            s = reloadIfAllowed();
+            if (!s.version.equals(version)) return Optional.empty();
+        }
+
+        String key = version + ":" + encodedBits;
+        List<GrantedAuthority> cached = decoded.get(key);
+        if (cached != null) return Optional.of(cached);
+
+        BitSet bits;
+        try {
+            bits = BitSet.valueOf(Base64.getUrlDecoder().decode(encodedBits));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bits.length() > s.authorities.size()) return Optional.empty();
+
+        List<GrantedAuthority> authorities = bits.stream().mapToObj(s.authorities::get).toList();
+
+        if (decoded.size() >= MAX_DECODED_SETS) decoded.clear();
+        decoded.put(key, authorities);
+        return Optional.of(authorities);
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.security.jwt.permission-registry.refresh-ms:30000}",
+            fixedDelayString = "${application.security.jwt.permission-registry.refresh-ms:30000}"
+    )
+    public void refresh() {
+        reload();
+    }
+
+    // gọi trong transaction sửa permission: reload sau commit để đọc được dữ liệu mới
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    private synchronized Snapshot reload() {
+        List<Permission> permissions = permissionRepository.findAll(Sort.by("id"));
+
+        Map<String, Integer> indexByName = new HashMap<>();
+        List<GrantedAuthority> authorities = new ArrayList<>(permissions.size());
+        StringBuilder fingerprint = new StringBuilder();
+
+        for (Permission p : permissions) {
+            indexByName.put(p.getName(), authorities.size());
+            authorities.add(new SimpleGrantedAuthority(p.getName()));
+            fingerprint.append(p.getId()).append(':').append(p.getName()).append('\n');
+        }
+
+        Snapshot next = new Snapshot(hash(fingerprint.toString()), Map.copyOf(indexByName), List.copyOf(authorities));
+        Snapshot prev = snapshot;
+
+        reloadedAt = System.currentTimeMillis();
+        if (prev != null && prev.version.equals(next.version)) return prev;
+
+        decoded.clear();
+        snapshot = next;
+        if (prev != null) {
+            log.info("Permission registry changed {} -> {}, older access tokens must be re-issued", prev.version, next.version);
+        }
+        return next;
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        return (s != null) ? s : reload();
+    }
+
+    // chặn token version lạ bắt DB reload liên tục
+    private Snapshot reloadIfAllowed() {
+        if (System.currentTimeMillis() - reloadedAt < MIN_RELOAD_INTERVAL_MS) return current();
+        return reload();
+    }
+
+    private String hash(String s) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Encoded(String version, String bits) {
+    }
+
+    private record Snapshot(String version, Map<String, Integer> indexByName, List<GrantedAuthority> authorities) {
+    }
+}
@@ -1,11 +1,30 @@
 package com.chung.taskcrud.auth.repository;
 
 import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.repository.projection.UserEmailView;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
+
+    // login / UserDetailsService cần đủ roles + permissions (roles là LAZY)
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    // refresh token: ký access token mới cần roles + permissions
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    Optional<User> findWithRolesById(Long id);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    // chỉ id + email (vd dựng message notification), không load entity
+    @Query("select u.id as id, u.email as email from User u where u.id in :ids")
+    List<UserEmailView> findEmailsByIdIn(Collection<Long> ids);
+}
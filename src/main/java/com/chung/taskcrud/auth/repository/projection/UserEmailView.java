@@ -0,0 +1,6 @@
+package com.chung.taskcrud.auth.repository.projection;
+
+public interface UserEmailView {
+    Long getId();
+    String getEmail();
+}
@@ -0,0 +1,34 @@
+package com.chung.taskcrud.auth.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.*;
+
+/**
+ * Các permission mà code check trực tiếp (tên trùng bảng permissions, RbacSeeder seed).
+ * Permission admin tự tạo thêm vẫn nằm trong authorities, chỉ không có ở đây.
+ */
+public enum AppPermission {
+    SYSTEM_ADMIN,
+    TASK_READ,
+    TASK_CREATE,
+    TASK_UPDATE_OWN_OR_ASSIGNED,
+    TASK_DELETE_OWN_OR_ASSIGNED,
+    TASK_ASSIGN,
+    ADMIN_GRANT;
+
+    private static final Map<String, AppPermission> BY_NAME = new HashMap<>();
+
+    static {
+        for (AppPermission p : values()) BY_NAME.put(p.name(), p);
+    }
+
+    public static Set<AppPermission> from(Collection<? extends GrantedAuthority> authorities) {
+        EnumSet<AppPermission> set = EnumSet.noneOf(AppPermission.class);
+        for (GrantedAuthority a : authorities) {
+            AppPermission p = BY_NAME.get(a.getAuthority());
+            if (p != null) set.add(p);
+        }
+        return Collections.unmodifiableSet(set);
+    }
+}
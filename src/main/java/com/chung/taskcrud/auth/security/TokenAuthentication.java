@@ -0,0 +1,24 @@
+package com.chung.taskcrud.auth.security;
+
+import com.chung.taskcrud.auth.service.VerifiedToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Set;
+
+/**
+ * Authentication do JwtAuthenticationFilter set: principal vẫn là userId (controller cast Long),
+ * kèm tập AppPermission dựng sẵn khi verify token để check quyền là lookup O(1) thay vì duyệt authorities.
+ */
+public class TokenAuthentication extends UsernamePasswordAuthenticationToken {
+
+    private final transient Set<AppPermission> permissions;
+
+    public TokenAuthentication(VerifiedToken token) {
+        super(token.userId(), null, token.authorities());
+        this.permissions = token.permissions();
+    }
+
+    public boolean has(AppPermission permission) {
+        return permissions.contains(permission);
+    }
+}
@@ -1,7 +1,9 @@
 package com.chung.taskcrud.auth.seed;
 
+import com.chung.taskcrud.auth.cache.AuthSnapshotCache;
 import com.chung.taskcrud.auth.entity.Permission;
 import com.chung.taskcrud.auth.entity.Role;
+import com.chung.taskcrud.auth.helper.PermissionRegistry;
 import com.chung.taskcrud.auth.repository.PermissionRepository;
 import com.chung.taskcrud.auth.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,8 @@ public class RbacSeeder implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final PermissionRegistry permissionRegistry;
+    private final AuthSnapshotCache authSnapshotCache;
 
     @Override
     public void run(String... args) {
@@ -40,6 +44,11 @@ public class RbacSeeder implements CommandLineRunner {
         upsertRole("ADMIN", "System administrator",
                 Set.of(systemAdmin, taskAssign, adminGrant, taskRead, taskCreate, taskUpdateOwnOrAssigned, taskDeleteOwnOrAssigned)
         );
+
+        // registry bitset của access token phải thấy permission vừa seed
+        permissionRegistry.reloadAfterCommit();
+        // node khác (rolling deploy) có thể đang cache permission cũ của role
+        authSnapshotCache.evictAll();
     }
 
     private Permission upsertPermission(String name, String desc) {
@@ -1,7 +1,7 @@
 package com.chung.taskcrud.auth.service;
 
-import com.chung.taskcrud.auth.entity.User;
-import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.auth.cache.AuthSnapshot;
+import com.chung.taskcrud.auth.cache.AuthSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,22 +16,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final AuthSnapshotCache authSnapshotCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User u = userRepository.findByEmail(email)
+        // cùng snapshot AuthServiceImpl.login dùng tiếp: login chỉ load user 1 lần
+        AuthSnapshot u = authSnapshotCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        Set<SimpleGrantedAuthority> authorities = u.getRoles().stream()
-                .map(r -> new SimpleGrantedAuthority("ROLE_" + r.getName()))
+        Set<SimpleGrantedAuthority> authorities = u.roles().stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
                 .collect(Collectors.toSet());
 
         return org.springframework.security.core.userdetails.User.builder()
-                .username(u.getEmail())
-                .password(u.getPassword())
+                .username(u.email())
+                .password(u.passwordHash())
                 .authorities(authorities)
-                .disabled(!u.isEnabled())
+                .disabled(!u.enabled())
                 .build();
     }
 }
@@ -1,81 +1,160 @@
 package com.chung.taskcrud.auth.service;
 
-import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.cache.AuthSnapshot;
+import com.chung.taskcrud.auth.helper.PermissionRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Date;
-import java.util.List;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 
 @Service
 public class JwtService {
 
+    // token format mới: permission là bitset trên PermissionRegistry
+    private static final String PERMISSION_VERSION_CLAIM = "pv";
+    private static final String PERMISSION_BITS_CLAIM = "pb";
+
     private final Key key;
     private final long accessExpirationMs;
+    private final PermissionRegistry permissionRegistry;
+    // token cũ (claim "permissions" dạng list tên) còn được nhận trong lúc rollout
+    private final boolean acceptLegacyTokens;
+
+    // JwtParser immutable + thread-safe: build 1 lần
+    private final JwtParser parser;
+
+    // token đã verify, key = SHA-256 của token (không giữ token gốc trong RAM).
+    // LRU: đầy thì bỏ token lâu không dùng nhất, O(1) mỗi lần put; token hết hạn bị bỏ khi gặp lại hoặc bị đẩy ra
+    private final Map<String, VerifiedToken> verifiedCache;
 
     public JwtService(
             @Value("${application.security.jwt.secret-key}") String secret,
-            @Value("${application.security.jwt.expiration}") long accessExpirationMs
+            @Value("${application.security.jwt.expiration}") long accessExpirationMs,
+            @Value("${application.security.jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize,
+            @Value("${application.security.jwt.accept-legacy-tokens:true}") boolean acceptLegacyTokens,
+            PermissionRegistry permissionRegistry
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessExpirationMs = accessExpirationMs;
+        this.acceptLegacyTokens = acceptLegacyTokens;
+        this.permissionRegistry = permissionRegistry;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheMaxSize;
+            }
+        });
     }
 
-    public String generateAccessToken(User user) {
-        List<String> roles = user.getRoles().stream()
-                .map(r -> r.getName())
-                .toList();
-
-        List<String> permissions = user.getRoles().stream()
-                .flatMap(r -> r.getPermissions().stream())
-                .map(p -> p.getName())
-                .distinct()
-                .toList();
+    // login / refresh: ký từ snapshot đã cache, không cần load User + roles + permissions
+    public String generateAccessToken(AuthSnapshot snapshot) {
+        return buildAccessToken(snapshot.userId(), snapshot.email(), snapshot.roles(), snapshot.permissions());
+    }
 
+    private String buildAccessToken(Long userId, String email, List<String> roles, List<String> permissions) {
+        PermissionRegistry.Encoded encoded = permissionRegistry.encode(permissions);
         long now = System.currentTimeMillis();
 
         return Jwts.builder()
-                .setSubject(user.getId().toString())
-                .claim("email", user.getEmail())
+                .setSubject(userId.toString())
+                .claim("email", email)
                 .claim("roles", roles)
-                .claim("permissions", permissions)
+                .claim(PERMISSION_VERSION_CLAIM, encoded.version())
+                .claim(PERMISSION_BITS_CLAIM, encoded.bits())
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + accessExpirationMs))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public Claims parseClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody();
+    private Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean isValid(String token) {
+    /**
+     * Verify chữ ký + hạn 1 lần và trả principal dựng sẵn; token không hợp lệ / hết hạn -> empty.
+     * Token đã verify được cache tới lúc hết hạn: request lặp lại cùng token chỉ tốn 1 lần SHA-256.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String hash = sha256(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verifiedCache.get(hash);
+        if (cached != null) {
+            if (!cached.isExpired(now) && isCurrentFormat(cached)) return Optional.of(cached);
+            verifiedCache.remove(hash, cached);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified;
         try {
-            parseClaims(token);
-            return true;
+            verified = toVerifiedToken(parseClaims(token)).orElse(null);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            verified = null;
         }
+        // token lỗi không cache: tránh bị spam token rác đẩy token thật ra khỏi cache
+        if (verified == null) return Optional.empty();
+
+        verifiedCache.put(hash, verified);
+        return Optional.of(verified);
     }
 
-    public Long userId(String token) {
-        return Long.valueOf(parseClaims(token).getSubject());
+    // empty = token hợp lệ chữ ký nhưng không dùng được (registry đã đổi version, hoặc token cũ khi đã tắt legacy)
+    private Optional<VerifiedToken> toVerifiedToken(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+
+        // roles -> ROLE_*
+        if (claims.get("roles") instanceof Collection<?> roles) {
+            roles.forEach(r -> authorities.add(new SimpleGrantedAuthority("ROLE_" + r)));
+        }
+
+        String permissionVersion = claims.get(PERMISSION_VERSION_CLAIM, String.class);
+        if (permissionVersion != null) {
+            // bitset -> authority dựng sẵn trong registry; version lệch -> 401, client refresh lấy token mới
+            Optional<List<GrantedAuthority>> permissions =
+                    permissionRegistry.decode(permissionVersion, claims.get(PERMISSION_BITS_CLAIM, String.class));
+            if (permissions.isEmpty()) return Optional.empty();
+            authorities.addAll(permissions.get());
+        } else {
+            if (!acceptLegacyTokens) return Optional.empty();
+
+            // permissions -> direct authority
+            if (claims.get("permissions") instanceof Collection<?> permissions) {
+                permissions.forEach(p -> authorities.add(new SimpleGrantedAuthority(p.toString())));
+            }
+        }
+
+        return Optional.of(new VerifiedToken(
+                Long.valueOf(claims.getSubject()),
+                claims.get("email", String.class),
+                authorities,
+                permissionVersion,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE
+        ));
     }
 
-    public List<String> permissions(String token) {
-        Object v = parseClaims(token).get("permissions");
-        if (v instanceof java.util.Collection<?> c) return c.stream().map(Object::toString).toList();
-        return List.of();
+    // token trong cache được ký với registry cũ thì không còn dùng được
+    private boolean isCurrentFormat(VerifiedToken token) {
+        return token.permissionVersion() == null
+                ? acceptLegacyTokens
+                : token.permissionVersion().equals(permissionRegistry.version());
     }
 
-    public List<String> roles(String token) {
-        Object v = parseClaims(token).get("roles");
-        if (v instanceof java.util.Collection<?> c) return c.stream().map(Object::toString).toList();
-        return List.of();
+    private String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.chung.taskcrud.auth.service;
+
+import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lấy User chỉ để gán FK (createdBy, assignee, author, actor...) mà không load entity.
+ * - getReferenceById trả proxy, không query; chỉ load row users khi thật sự đọc field (vd email lúc map response)
+ * - Tồn tại hay không được check bằng query id thuần, id đã thấy được nhớ lại:
+ *   user không bao giờ bị xoá cứng (xoá = disable) nên id đã tồn tại thì tồn tại mãi.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserReferenceService {
+
+    private static final int MAX_KNOWN_IDS = 100_000;
+
+    private final UserRepository userRepository;
+
+    private final Set<Long> knownIds = ConcurrentHashMap.newKeySet();
+
+    public User getReferenceOrThrow(Long id) {
+        if (id == null || !exists(id)) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "User not found");
+        }
+        return userRepository.getReferenceById(id);
+    }
+
+    // id không tồn tại sẽ không có trong map
+    public Map<Long, User> getReferences(Collection<Long> ids) {
+        Set<Long> missing = new HashSet<>();
+        for (Long id : ids) {
+            if (id != null && !knownIds.contains(id)) missing.add(id);
+        }
+        if (!missing.isEmpty()) {
+            remember(userRepository.findExistingIds(missing));
+        }
+
+        Map<Long, User> refs = new HashMap<>();
+        for (Long id : ids) {
+            if (id != null && knownIds.contains(id)) refs.put(id, userRepository.getReferenceById(id));
+        }
+        return refs;
+    }
+
+    private boolean exists(Long id) {
+        if (knownIds.contains(id)) return true;
+        if (!userRepository.existsById(id)) return false;
+
+        remember(List.of(id));
+        return true;
+    }
+
+    private void remember(Collection<Long> ids) {
+        // chỉ là cache: đầy thì bỏ hết, lần sau check lại DB
+        if (knownIds.size() + ids.size() > MAX_KNOWN_IDS) knownIds.clear();
+        knownIds.addAll(ids);
+    }
+}
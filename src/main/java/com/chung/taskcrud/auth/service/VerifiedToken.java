@@ -0,0 +1,31 @@
+package com.chung.taskcrud.auth.service;
+
+import com.chung.taskcrud.auth.security.AppPermission;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Kết quả verify access token: parse 1 lần, authorities (ROLE_* + permission) đã dựng sẵn.
+ * Immutable nên dùng chung được giữa các request có cùng token (cache trong JwtService).
+ */
+public record VerifiedToken(
+        Long userId,
+        String email,
+        List<GrantedAuthority> authorities,
+        // permission code check trực tiếp, dựng từ authorities 1 lần / token
+        Set<AppPermission> permissions,
+        // version PermissionRegistry lúc ký token; null = token format cũ (permission dạng tên)
+        String permissionVersion,
+        long expiresAtMillis
+) {
+
+    public VerifiedToken(Long userId, String email, List<GrantedAuthority> authorities, String permissionVersion, long expiresAtMillis) {
+        this(userId, email, List.copyOf(authorities), AppPermission.from(authorities), permissionVersion, expiresAtMillis);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -1,5 +1,7 @@
 package com.chung.taskcrud.auth.service.impl;
 
+import com.chung.taskcrud.auth.cache.AuthSnapshot;
+import com.chung.taskcrud.auth.cache.AuthSnapshotCache;
 import com.chung.taskcrud.auth.dto.request.*;
 import com.chung.taskcrud.auth.dto.response.AuthResponse;
 import com.chung.taskcrud.auth.dto.response.LoginResponse;
@@ -8,7 +10,6 @@ import com.chung.taskcrud.auth.entity.RefreshToken;
 import com.chung.taskcrud.auth.entity.Role;
 import com.chung.taskcrud.auth.entity.User;
 import com.chung.taskcrud.auth.helper.AuthTokenHelper;
-import com.chung.taskcrud.auth.helper.AuthUserMapper;
 import com.chung.taskcrud.auth.repository.RoleRepository;
 import com.chung.taskcrud.auth.repository.UserRepository;
 import com.chung.taskcrud.auth.service.AuthService;
@@ -21,8 +22,6 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -38,7 +37,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtService jwtService;
 
     private final AuthTokenHelper tokenHelper;
-    private final AuthUserMapper userMapper;
+    private final AuthSnapshotCache authSnapshotCache;
 
     @Override
     public void register(RegisterRequest request) {
@@ -72,6 +71,7 @@ public class AuthServiceImpl implements AuthService {
         User user = vt.getUser();
         user.setEnabled(true);
         userRepository.save(user);
+        authSnapshotCache.evictUser(user.getId());
 
         tokenHelper.markVerifyTokenUsed(vt);
     }
@@ -82,26 +82,25 @@ public class AuthServiceImpl implements AuthService {
 
         authenticate(email, request.getPassword());
 
-        User user = userRepository.findByEmail(email)
+        // snapshot vừa được UserDetailsService load trong authenticate: cache hit, không query lại
+        AuthSnapshot user = authSnapshotCache.findByEmail(email)
                 .orElseThrow(() -> new AppException(ErrorCode.AUTH_INVALID_CREDENTIALS));
 
-        if (!user.isEnabled()) {
+        if (!user.enabled()) {
             throw new AppException(ErrorCode.EMAIL_NOT_VERIFIED);
         }
 
         String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = tokenHelper.issueRefreshToken(user);
-
-        List<String> roles = userMapper.extractRoleNames(user);
-        List<String> permissions = userMapper.extraPermissionNames(user);
+        // refresh token chỉ cần FK user_id
+        String refreshToken = tokenHelper.issueRefreshToken(userRepository.getReferenceById(user.userId()));
 
         return LoginResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .roles(roles)
-                .permissions(permissions)
+                .userId(user.userId())
+                .email(user.email())
+                .roles(user.roles())
+                .permissions(user.permissions())
                 .build();
     }
 
@@ -110,8 +109,10 @@ public class AuthServiceImpl implements AuthService {
         RefreshToken old = tokenHelper.getRefreshTokenOrThrow(request.getRefreshToken());
         tokenHelper.assertRefreshTokenUsable(old);
 
-        User user = old.getUser();
-        if (!user.isEnabled()) {
+        // old.getUser() là proxy LAZY: getId() không load user, phần còn lại lấy từ snapshot
+        AuthSnapshot user = authSnapshotCache.findById(old.getUser().getId())
+                .orElseThrow(() -> new AppException(ErrorCode.AUTH_INVALID_CREDENTIALS, "Invalid refresh token"));
+        if (!user.enabled()) {
             throw new AppException(ErrorCode.EMAIL_NOT_VERIFIED);
         }
 
@@ -119,7 +120,7 @@ public class AuthServiceImpl implements AuthService {
         tokenHelper.revokeRefreshToken(old);
 
         String newAccess = jwtService.generateAccessToken(user);
-        String newRefresh = tokenHelper.issueRefreshToken(user);
+        String newRefresh = tokenHelper.issueRefreshToken(old.getUser());
 
         return AuthResponse.builder()
                 .accessToken(newAccess)
@@ -1,5 +1,6 @@
 package com.chung.taskcrud.auth.user.service.impl;
 
+import com.chung.taskcrud.auth.cache.AuthSnapshotCache;
 import com.chung.taskcrud.auth.entity.EmailVerificationToken;
 import com.chung.taskcrud.auth.entity.User;
 import com.chung.taskcrud.auth.helper.AuthTokenHelper;
@@ -22,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class MyAccountServiceImpl implements MyAccountService {
 
     private final UserRepository userRepository;
+    private final AuthSnapshotCache authSnapshotCache;
     private final PasswordEncoder passwordEncoder;
     private final AuthTokenHelper tokenHelper;
 
@@ -57,6 +59,7 @@ public class MyAccountServiceImpl implements MyAccountService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        authSnapshotCache.evictUser(userId);
 
     }
 
@@ -78,6 +81,7 @@ public class MyAccountServiceImpl implements MyAccountService {
         user.setEmail(newEmail);
         user.setEnabled(false);
         userRepository.save(user);
+        authSnapshotCache.evictUser(userId);
 
         EmailVerificationToken vt = tokenHelper.createAndSaveVerifyToken(user);
         tokenHelper.sendVerifyEmail(newEmail, vt.getToken());
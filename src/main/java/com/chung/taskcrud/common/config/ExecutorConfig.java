@@ -0,0 +1,17 @@
+package com.chung.taskcrud.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    // 1 virtual thread / task cho I/O chạy song song (vd query DB); số connection đồng thời vẫn do Hikari giới hạn
+    @Bean(destroyMethod = "close")
+    public ExecutorService virtualThreadExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -1,19 +1,17 @@
 package com.chung.taskcrud.common.config;
 
+import com.chung.taskcrud.auth.security.TokenAuthentication;
 import com.chung.taskcrud.auth.service.JwtService;
+import com.chung.taskcrud.auth.service.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -32,28 +30,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        if (!jwtService.isValid(token)) {
+
+        // verify 1 lần (cache theo hash token), authorities đã dựng sẵn
+        VerifiedToken verified = jwtService.verify(token).orElse(null);
+        if (verified == null) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
 
         if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            Long userId = jwtService.userId(token);
-
-            List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-
-            // roles -> ROLE_*
-            for (String r : jwtService.roles(token)) {
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + r));
-            }
-
-            // permissions -> direct authority
-            for (String p : jwtService.permissions(token)) {
-                authorities.add(new SimpleGrantedAuthority(p));
-            }
-
-            // principal = userId để service dùng check ownership
-            var auth = new UsernamePasswordAuthenticationToken(userId, null, authorities);
+            // principal = userId để service dùng check ownership, kèm AppPermission dựng sẵn
+            var auth = new TokenAuthentication(verified);
             SecurityContextHolder.getContext().setAuthentication(auth);
         }
 
@@ -0,0 +1,12 @@
+package com.chung.taskcrud.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// job nền: OutboxDispatcher, JdbcAuthInvalidationBus, PermissionRegistry, NotificationStreamRegistry (heartbeat),
+// NotificationUnreadCounter (reconcile), NotificationRetentionJob.
+// Scheduler dùng pool (spring.task.scheduling.pool.size): retention chạy lâu không chặn các job poll ngắn.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,19 @@
+package com.chung.taskcrud.common.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+
+    // null khi đã tới trang cuối
+    private String nextCursor;
+}
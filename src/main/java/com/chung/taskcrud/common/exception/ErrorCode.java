@@ -41,6 +41,7 @@ public enum ErrorCode {
 
     NOTIFICATION_NOT_FOUND("NTF_404", "Notification not found", HttpStatus.NOT_FOUND),
     NOTIFICATION_ACCESS_DENIED("NTF_403", "Access denied to this notification", HttpStatus.FORBIDDEN),
+    NOTIFICATION_STREAM_UNAVAILABLE("NTF_503", "Too many notification streams, retry later", HttpStatus.SERVICE_UNAVAILABLE),
     TASK_LOG_NOT_FOUND("LOG_404", "Task log not found", HttpStatus.NOT_FOUND);
 
 
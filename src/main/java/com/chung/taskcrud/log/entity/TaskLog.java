@@ -11,7 +11,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "task_logs")
+@Table(name = "task_logs", indexes = {
+        @Index(name = "idx_task_log_task_created", columnList = "task_id, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +22,15 @@ import java.util.List;
 public class TaskLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_logs_id")
+    @TableGenerator(
+            name = "task_logs_id",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "task_logs",
+            allocationSize = 50
+    )
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -13,7 +13,15 @@ import lombok.*;
 public class TaskLogChange {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_log_changes_id")
+    @TableGenerator(
+            name = "task_log_changes_id",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "task_log_changes",
+            allocationSize = 50
+    )
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
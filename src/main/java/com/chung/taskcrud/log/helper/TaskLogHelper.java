@@ -1,71 +1,114 @@
 package com.chung.taskcrud.log.helper;
 
 import com.chung.taskcrud.auth.entity.User;
-import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.auth.service.UserReferenceService;
 import com.chung.taskcrud.log.entity.TaskLog;
 import com.chung.taskcrud.log.entity.TaskLogChange;
 import com.chung.taskcrud.log.entity.TaskLogEventType;
 import com.chung.taskcrud.log.repository.TaskLogRepository;
+import com.chung.taskcrud.outbox.dto.payload.TaskLogPayload;
+import com.chung.taskcrud.outbox.entity.OutboxEventType;
+import com.chung.taskcrud.outbox.helper.OutboxHelper;
 import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Objects;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * log*: chạy trong transaction của mutation, chỉ ghi 1 outbox event.
+ * writeAll: OutboxDispatcher gọi để ghi task_logs / task_log_changes thật cho 1 lô event.
+ */
 @Component
 @RequiredArgsConstructor
 public class TaskLogHelper {
 
     private final TaskLogRepository taskLogRepository;
-    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final UserReferenceService userReferenceService;
+    private final OutboxHelper outboxHelper;
 
     @Transactional
     public void logSimple(Task task, Long actorId, TaskLogEventType eventType) {
         if (task == null) return;
 
-        User actor = (actorId != null) ? userRepository.findById(actorId).orElse(null) : null;
-
-        TaskLog log = TaskLog.builder()
-                .task(task)
-                .actor(actor)
-                .eventType(eventType)
-                .build();
-
-        taskLogRepository.save(log);
+        outboxHelper.publish(OutboxEventType.TASK_LOG, payload(task, actorId, eventType, List.of()));
     }
 
     @Transactional
     public void logWithChanges(Task task, Long actorId, TaskLogEventType eventType, TaskLogChange... changes) {
         if (task == null) return;
 
-        // đếm change thực sự
-        int changedCount = 0;
+        // chỉ giữ change thực sự
+        List<TaskLogChange> changed = new ArrayList<>();
         if (changes != null) {
             for (TaskLogChange c : changes) {
-                if (c != null) changedCount++;
+                if (c != null) changed.add(c);
             }
         }
 
         // nếu không có thay đổi thì KHÔNG tạo log (tránh TASK_UPDATED changes: [])
-        if (changedCount == 0) {
+        if (changed.isEmpty()) {
             return;
         }
 
-        User actor = (actorId != null) ? userRepository.findById(actorId).orElse(null) : null;
+        outboxHelper.publish(OutboxEventType.TASK_LOG, payload(task, actorId, eventType, changed));
+    }
 
-        TaskLog log = TaskLog.builder()
-                .task(task)
-                .actor(actor)
-                .eventType(eventType)
-                .build();
+    // Bulk: changeOf == null -> log không có change (như logSimple); changeOf trả null -> task đó không đổi, bỏ qua
+    @Transactional
+    public void logBatch(List<Task> tasks, Long actorId, TaskLogEventType eventType,
+                         Function<Task, TaskLogChange> changeOf) {
+        if (tasks == null || tasks.isEmpty()) return;
+
+        List<TaskLogPayload> payloads = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            TaskLogChange c = (changeOf != null) ? changeOf.apply(task) : null;
+            if (changeOf != null && c == null) continue;
 
-        for (TaskLogChange c : changes) {
-            if (c == null) continue;
-            log.addChange(c);
+            payloads.add(payload(task, actorId, eventType, (c != null) ? List.of(c) : List.of()));
         }
 
-        taskLogRepository.save(log);
+        outboxHelper.publishAll(OutboxEventType.TASK_LOG, payloads);
+    }
+
+    // Dispatcher: actor và task chỉ là reference (FK), 1 query id cho actor của cả lô, saveAll để Hibernate gom batch
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void writeAll(List<TaskLogPayload> events) {
+        if (events.isEmpty()) return;
+
+        Set<Long> actorIds = events.stream()
+                .map(TaskLogPayload::getActorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> actors = userReferenceService.getReferences(actorIds);
+
+        List<TaskLog> logs = new ArrayList<>(events.size());
+        for (TaskLogPayload e : events) {
+            TaskLog log = TaskLog.builder()
+                    .task(taskRepository.getReferenceById(e.getTaskId()))
+                    .actor((e.getActorId() != null) ? actors.get(e.getActorId()) : null)
+                    .eventType(e.getEventType())
+                    .createdAt(e.getOccurredAt())
+                    .build();
+
+            for (TaskLogPayload.Change c : e.getChanges()) {
+                log.addChange(TaskLogChange.builder()
+                        .fieldName(c.getFieldName())
+                        .oldValue(c.getOldValue())
+                        .newValue(c.getNewValue())
+                        .build());
+            }
+            logs.add(log);
+        }
+
+        taskLogRepository.saveAll(logs);
     }
 
     public TaskLogChange change(String field, Object oldVal, Object newVal) {
@@ -80,4 +123,20 @@ public class TaskLogHelper {
                 .newValue(n)
                 .build();
     }
+
+    private TaskLogPayload payload(Task task, Long actorId, TaskLogEventType eventType, List<TaskLogChange> changes) {
+        return TaskLogPayload.builder()
+                .taskId(task.getId())
+                .actorId(actorId)
+                .eventType(eventType)
+                .changes(changes.stream()
+                        .map(c -> TaskLogPayload.Change.builder()
+                                .fieldName(c.getFieldName())
+                                .oldValue(c.getOldValue())
+                                .newValue(c.getNewValue())
+                                .build())
+                        .toList())
+                .occurredAt(Instant.now())
+                .build();
+    }
 }
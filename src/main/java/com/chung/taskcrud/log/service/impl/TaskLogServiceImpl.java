@@ -8,9 +8,7 @@ import com.chung.taskcrud.log.entity.TaskLog;
 import com.chung.taskcrud.log.helper.TaskLogMapper;
 import com.chung.taskcrud.log.repository.TaskLogRepository;
 import com.chung.taskcrud.log.service.TaskLogService;
-import com.chung.taskcrud.task.entity.Task;
-import com.chung.taskcrud.task.repository.TaskRepository;
-import com.chung.taskcrud.task.security.TaskAuthorizationService;
+import com.chung.taskcrud.task.security.TaskAccessLoader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -26,15 +24,13 @@ import java.util.List;
 public class TaskLogServiceImpl implements TaskLogService {
 
     private final TaskLogRepository taskLogRepository;
-    private final TaskRepository taskRepository;
-    private final TaskAuthorizationService authorizationService;
+    private final TaskAccessLoader accessLoader;
     private final TaskLogMapper mapper;
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<TaskLogResponse> list(Authentication auth, Long actorId, Long taskId, Pageable pageable) {
-        Task task = getTaskIncludingDeletedOrThrow(taskId);
-        authorizationService.assertCanView(auth, actorId, task);
+        accessLoader.requireViewIncludingDeleted(auth, actorId, taskId);
 
         // ✅ bỏ cast Page<?> -> Page<TaskLog>
         Page<TaskLog> p = taskLogRepository.findAllByTask_IdOrderByCreatedAtDesc(taskId, pageable);
@@ -56,8 +52,7 @@ public class TaskLogServiceImpl implements TaskLogService {
     @Override
     @Transactional(readOnly = true)
     public TaskLogResponse detail(Authentication auth, Long actorId, Long taskId, Long logId) {
-        Task task = getTaskIncludingDeletedOrThrow(taskId);
-        authorizationService.assertCanView(auth, actorId, task);
+        accessLoader.requireViewIncludingDeleted(auth, actorId, taskId);
 
         var log = taskLogRepository.findByIdAndTask_Id(logId, taskId)
                 .orElseThrow(() -> new AppException(ErrorCode.TASK_LOG_NOT_FOUND));
@@ -83,9 +78,4 @@ public class TaskLogServiceImpl implements TaskLogService {
                 .totalPages(p.getTotalPages())
                 .build();
     }
-
-    private Task getTaskIncludingDeletedOrThrow(Long id) {
-        return taskRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
-    }
 }
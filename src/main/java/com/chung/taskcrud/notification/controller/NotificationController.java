@@ -1,24 +1,34 @@
 package com.chung.taskcrud.notification.controller;
 
 import com.chung.taskcrud.common.dto.response.ApiResponse;
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
 import com.chung.taskcrud.common.dto.response.PageResponse;
+import com.chung.taskcrud.notification.dto.request.MarkNotificationsReadRequest;
+import com.chung.taskcrud.notification.dto.response.MarkNotificationsReadResponse;
 import com.chung.taskcrud.notification.dto.response.NotificationResponse;
+import com.chung.taskcrud.notification.dto.response.UnreadCountResponse;
 import com.chung.taskcrud.notification.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @RestController
@@ -70,6 +80,117 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
     }
 
+    @Operation(
+            summary = "Danh sách notifications (cursor pagination)",
+            description = """
+                    Keyset pagination theo (createdAt, id) giảm dần: không dùng OFFSET và không đếm tổng số bản ghi,
+                    thời gian mỗi trang không phụ thuộc user có bao nhiêu notification.
+                    - Lần đầu không truyền cursor, các lần sau truyền `nextCursor` của response trước
+                    - Cần tổng số chưa đọc thì dùng `GET /api/notifications/unread-count`
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor không hợp lệ",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<NotificationResponse>>> listByCursor(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "Chỉ lấy thông báo chưa đọc", example = "false")
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @Parameter(description = "Cursor trả về từ trang trước (bỏ trống cho trang đầu)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Kích thước trang (tối đa 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+
+        CursorPageResponse<NotificationResponse> data =
+                notificationService.listMyNotificationsByCursor(authentication, actorId, unreadOnly, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+
+    @Operation(
+            summary = "Stream notification realtime (SSE)",
+            description = """
+                    Server-Sent Events thay cho polling: mỗi notification mới của user hiện tại được push thành event
+                    `notification` (data = NotificationResponse, id = notification id), kèm comment `ping` định kỳ.
+                    Reconnect với header `Last-Event-ID` để nhận lại các notification bị lỡ (tối đa 100, có thể trùng - bỏ trùng theo id).
+                    Client đọc chậm (buffer đầy) bị ngắt kết nối và cần reconnect.
+                    Cần header Authorization nên dùng EventSource polyfill / fetch stream thay vì EventSource gốc của trình duyệt.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Mở stream thành công (text/event-stream)",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Node đã đủ số kết nối, thử lại sau",
+                    content = @Content
+            )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "Id event cuối cùng client đã nhận (EventSource tự gửi khi reconnect)")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        return notificationService.stream(authentication, actorId, lastEventId);
+    }
+
+    @Operation(
+            summary = "Số notification chưa đọc",
+            description = """
+                    Dùng cho badge thay vì gọi list `unreadOnly=true` chỉ để lấy `totalElements`.
+                    Đọc từ counter được duy trì sẵn (có cache vài giây), không COUNT bảng notifications.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<UnreadCountResponse>> unreadCount(
+            @Parameter(hidden = true) Authentication authentication,
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        UnreadCountResponse data = notificationService.unreadCount(authentication, actorId);
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+
     @Operation(
             summary = "Đánh dấu notification đã đọc",
             description = "Đánh dấu một thông báo là đã đọc theo ID."
@@ -102,4 +223,84 @@ public class NotificationController {
         NotificationResponse data = notificationService.markAsRead(authentication, actorId, id);
         return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
     }
+
+    @Operation(
+            summary = "Đánh dấu tất cả notification đã đọc",
+            description = """
+                    Đánh dấu mọi thông báo chưa đọc của user hiện tại bằng 1 câu UPDATE.
+                    Truyền `before` để chỉ đánh dấu thông báo tạo trước thời điểm đó (vd thời điểm client load list),
+                    tránh đánh dấu cả thông báo mới đến mà user chưa thấy.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công, `updated` = số thông báo vừa được đánh dấu",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @PutMapping("/read-all")
+    public ResponseEntity<ApiResponse<MarkNotificationsReadResponse>> markAllAsRead(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "Chỉ đánh dấu thông báo tạo trước thời điểm này (ISO-8601)", example = "2025-01-01T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant before,
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        MarkNotificationsReadResponse data = notificationService.markAllAsRead(authentication, actorId, before);
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+
+    @Operation(
+            summary = "Đánh dấu nhiều notification đã đọc",
+            description = """
+                    Đánh dấu tối đa 1000 thông báo theo ID bằng 1 câu UPDATE.
+                    ID không thuộc user hiện tại / không tồn tại / đã đọc được bỏ qua, không tính vào `updated`.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công, `updated` = số thông báo vừa được đánh dấu",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Danh sách rỗng / quá 1000 ID",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @PutMapping("/read")
+    public ResponseEntity<ApiResponse<MarkNotificationsReadResponse>> markAsRead(
+            @Parameter(hidden = true) Authentication authentication,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Danh sách notification ID",
+                    content = @Content(
+                            schema = @Schema(implementation = MarkNotificationsReadRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Bulk mark-read example",
+                                    value = """
+                                    { "ids": [10, 11, 12] }
+                                    """
+                            )
+                    )
+            )
+            @Valid @RequestBody MarkNotificationsReadRequest request,
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        MarkNotificationsReadResponse data = notificationService.markAsRead(authentication, actorId, request);
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
 }
@@ -0,0 +1,19 @@
+package com.chung.taskcrud.notification.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarkNotificationsReadRequest {
+
+    @NotEmpty(message = "Ids is required")
+    @Size(max = 1000, message = "At most 1000 ids per request")
+    private List<Long> ids;
+}
@@ -0,0 +1,13 @@
+package com.chung.taskcrud.notification.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarkNotificationsReadResponse {
+    // số notification vừa chuyển từ chưa đọc -> đã đọc (đã đọc từ trước / của user khác không tính)
+    private int updated;
+}
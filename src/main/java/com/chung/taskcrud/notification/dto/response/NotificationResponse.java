@@ -19,6 +19,7 @@ public class NotificationResponse {
     private Long entityId;
     private Long actorId;
     private String actorEmail;
+    private int coalescedCount;
     private Instant readAt;
     private Instant createdAt;
 }
@@ -0,0 +1,12 @@
+package com.chung.taskcrud.notification.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCountResponse {
+    private long unreadCount;
+}
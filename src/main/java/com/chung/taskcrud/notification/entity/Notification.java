@@ -8,8 +8,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "notifications", indexes = {
-        @Index(name = "idx_ntf_recipient_id", columnList = "recipient_id"),
-        @Index(name = "idx_ntf_read_at", columnList = "read_at"),
+        @Index(name = "idx_ntf_recipient_read_created", columnList = "recipient_id, read_at, created_at"),
+        @Index(name = "idx_ntf_recipient_created_id", columnList = "recipient_id, created_at, id"),
         @Index(name = "idx_ntf_created_at", columnList = "created_at")
 })
 @Getter
@@ -20,7 +20,15 @@ import java.time.Instant;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notifications_id")
+    @TableGenerator(
+            name = "notifications_id",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "notifications",
+            allocationSize = 50
+    )
     private Long id;
 
     // người nhận
@@ -55,6 +63,11 @@ public class Notification {
     @Column(name = "read_at")
     private Instant readAt;
 
+    // số event đã gộp vào notification này (xem NotificationHelper coalesce), message là của event mới nhất
+    @Column(name = "coalesced_count", nullable = false)
+    @Builder.Default
+    private int coalescedCount = 1;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -0,0 +1,47 @@
+package com.chung.taskcrud.notification.helper;
+
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.notification.dto.response.NotificationResponse;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Encode/decode opaque cursor cho keyset pagination của notification list (luôn createdAt desc, id desc).
+ * Cursor = base64url("createdAt|id") của phần tử cuối trang trước.
+ */
+@Component
+public class NotificationCursorHelper {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode(NotificationResponse last) {
+        String raw = last.getCreatedAt() + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public NotificationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 2) throw invalidCursor();
+
+            return new NotificationCursor(Instant.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (AppException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private AppException invalidCursor() {
+        return new AppException(ErrorCode.VALIDATION_ERROR, "Invalid cursor");
+    }
+
+    public record NotificationCursor(Instant createdAt, Long id) {
+    }
+}
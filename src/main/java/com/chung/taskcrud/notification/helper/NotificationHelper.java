@@ -2,74 +2,83 @@ package com.chung.taskcrud.notification.helper;
 
 import com.chung.taskcrud.auth.entity.User;
 import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.auth.repository.projection.UserEmailView;
+import com.chung.taskcrud.auth.service.UserReferenceService;
+import com.chung.taskcrud.notification.dto.response.NotificationResponse;
 import com.chung.taskcrud.notification.entity.Notification;
 import com.chung.taskcrud.notification.entity.NotificationType;
 import com.chung.taskcrud.notification.repository.NotificationRepository;
+import com.chung.taskcrud.notification.repository.projection.NotificationCoalesceView;
+import com.chung.taskcrud.outbox.dto.payload.NotificationPayload;
+import com.chung.taskcrud.outbox.entity.OutboxEventType;
+import com.chung.taskcrud.outbox.helper.OutboxHelper;
 import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.repository.projection.TaskAccessView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
 
+/**
+ * notify*: chạy trong transaction của mutation, chỉ tính recipient rồi ghi 1 outbox event (không query).
+ * writeAll: OutboxDispatcher gọi để ghi notification thật cho 1 lô event (kèm tăng unread counter, push SSE).
+ */
 @Component
 @RequiredArgsConstructor
 public class NotificationHelper {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UserReferenceService userReferenceService;
+    private final OutboxHelper outboxHelper;
+    private final NotificationUnreadCounter unreadCounter;
+    private final NotificationStreamRegistry streamRegistry;
+    private final NotificationMapper mapper;
+
+    // 0 = tắt gộp
+    @Value("${app.notifications.coalesce.window-seconds:60}")
+    private long coalesceWindowSeconds;
+
+    @Value("${app.notifications.coalesce.types:TASK_UPDATED}")
+    private Set<NotificationType> coalesceTypes;
 
     @Transactional
     public void notifyTaskEvent(Task task, Long actorId, NotificationType type) {
         if (task == null) return;
 
-        Long createdById = task.getCreatedBy() != null ? task.getCreatedBy().getId() : null;
-        Long assigneeId  = task.getAssignee() != null ? task.getAssignee().getId() : null;
-
-        User actor = (actorId != null) ? userRepository.findById(actorId).orElse(null) : null;
-
-        Set<Long> recipientIds = new LinkedHashSet<>();
-
-        switch (type) {
-            case TASK_ASSIGNED -> {
-                if (assigneeId != null) recipientIds.add(assigneeId);
-            }
-            default -> {
-                if (createdById != null) recipientIds.add(createdById);
-                if (assigneeId != null) recipientIds.add(assigneeId);
-            }
-        }
-
-        boolean allowSelf = (type == NotificationType.TASK_CREATED && assigneeId == null);
+        NotificationPayload payload = taskPayload(task, actorId, type);
+        if (payload == null) return;
 
-        if (!allowSelf && actorId != null) {
-            recipientIds.remove(actorId);
-            if (recipientIds.isEmpty()) recipientIds.add(actorId);
-        }
+        outboxHelper.publish(OutboxEventType.NOTIFICATION, payload);
+    }
 
-        if (recipientIds.isEmpty()) return;
+    // Dùng khi chỉ có TaskAccessView (comment/subtask), không cần load Task
+    @Transactional
+    public void notifyTaskEvent(TaskAccessView task, Long actorId, NotificationType type) {
+        if (task == null) return;
 
-        String title = (task.getTitle() != null) ? task.getTitle() : buildTitle(type);
+        NotificationPayload payload = taskPayload(
+                task.getId(), task.getTitle(), task.getCreatedById(), task.getAssigneeId(), actorId, type);
+        if (payload == null) return;
 
-        String msg = buildMessage(type, actor, task);
+        outboxHelper.publish(OutboxEventType.NOTIFICATION, payload);
+    }
 
-        for (Long rid : recipientIds) {
-            User recipient = userRepository.findById(rid).orElse(null);
-            if (recipient == null) continue;
+    @Transactional
+    public void notifyTaskEvents(List<Task> tasks, Long actorId, NotificationType type) {
+        if (tasks == null || tasks.isEmpty()) return;
 
-            Notification n = Notification.builder()
-                    .recipient(recipient)
-                    .type(type)
-                    .title(title)
-                    .message(msg)
-                    .entityType("TASK")
-                    .entityId(task.getId())
-                    .actor(actor)
-                    .build();
+        List<NotificationPayload> payloads = tasks.stream()
+                .map(task -> taskPayload(task, actorId, type))
+                .filter(Objects::nonNull)
+                .toList();
 
-            notificationRepository.save(n);
-        }
+        outboxHelper.publishAll(OutboxEventType.NOTIFICATION, payloads);
     }
 
     @Transactional
@@ -79,8 +88,21 @@ public class NotificationHelper {
         Long createdById = task.getCreatedBy() != null ? task.getCreatedBy().getId() : null;
         Long assigneeId  = task.getAssignee() != null ? task.getAssignee().getId() : null;
 
-        User actor = (actorId != null) ? userRepository.findById(actorId).orElse(null) : null;
+        publishSubtaskEvent(task.getId(), task.getTitle(), createdById, assigneeId, subtaskId, subtaskTitle, actorId, type);
+    }
+
+    @Transactional
+    public void notifySubtaskEvent(TaskAccessView task, Long subtaskId, String subtaskTitle, Long actorId, NotificationType type) {
+        if (task == null) return;
+
+        publishSubtaskEvent(task.getId(), task.getTitle(), task.getCreatedById(), task.getAssigneeId(),
+                subtaskId, subtaskTitle, actorId, type);
+    }
 
+    private void publishSubtaskEvent(
+            Long taskId, String taskTitle, Long createdById, Long assigneeId,
+            Long subtaskId, String subtaskTitle, Long actorId, NotificationType type
+    ) {
         Set<Long> recipientIds = new LinkedHashSet<>();
         if (createdById != null) recipientIds.add(createdById);
         if (assigneeId != null) recipientIds.add(assigneeId);
@@ -96,31 +118,206 @@ public class NotificationHelper {
                 ? subtaskTitle.trim()
                 : buildTitle(type);
 
-        String msg = (actor != null ? actor.getEmail() : "Someone")
-                + " " + switch (type) {
-            case SUBTASK_CREATED -> "created a subtask";
-            case SUBTASK_UPDATED -> "updated a subtask";
-            case SUBTASK_DELETED -> "deleted a subtask";
-            default -> "did something to a subtask";
+        outboxHelper.publish(OutboxEventType.NOTIFICATION, NotificationPayload.builder()
+                .type(type)
+                .title(title)
+                .entityType("SUBTASK")
+                .entityId(subtaskId)
+                .taskId(taskId)
+                .taskTitle(taskTitle)
+                .actorId(actorId)
+                .recipientIds(new ArrayList<>(recipientIds))
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    // Dispatcher: số round trip không phụ thuộc số recipient
+    // - actor: 1 query id + email (chỉ để dựng message), recipient/actor gán FK bằng reference
+    // - message dựng 1 lần / event, saveAll gom thành JDBC batch (pooled id, xem V4 migration)
+    // - type trong app.notifications.coalesce.types: gộp theo (recipient, type, entity), xem coalesce()
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void writeAll(List<NotificationPayload> events) {
+        if (events.isEmpty()) return;
+
+        Set<Long> actorIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (NotificationPayload e : events) {
+            if (e.getActorId() != null) actorIds.add(e.getActorId());
+            userIds.addAll(e.getRecipientIds());
         }
-                + " in task #" + task.getId() + ": \"" + task.getTitle() + "\"";
-
-        for (Long rid : recipientIds) {
-            User recipient = userRepository.findById(rid).orElse(null);
-            if (recipient == null) continue;
-
-            Notification n = Notification.builder()
-                    .recipient(recipient)
-                    .type(type)
-                    .title(title)
-                    .message(msg)
-                    .entityType("SUBTASK")
-                    .entityId(subtaskId)
-                    .actor(actor)
-                    .build();
-
-            notificationRepository.save(n);
+        userIds.addAll(actorIds);
+
+        Map<Long, String> actorEmails = actorIds.isEmpty() ? Map.of()
+                : userRepository.findEmailsByIdIn(actorIds).stream()
+                        .collect(Collectors.toMap(UserEmailView::getId, UserEmailView::getEmail));
+        Map<Long, User> users = userReferenceService.getReferences(userIds);
+
+        List<Notification> notifications = new ArrayList<>();
+        Map<CoalesceKey, Notification> coalesced = new LinkedHashMap<>();
+
+        // theo thứ tự xảy ra để event sau (message mới nhất) thắng khi gộp
+        List<NotificationPayload> ordered = events.stream()
+                .sorted(Comparator.comparing(NotificationPayload::getOccurredAt))
+                .toList();
+
+        for (NotificationPayload e : ordered) {
+            User actor = (e.getActorId() != null) ? users.get(e.getActorId()) : null;
+            String actorEmail = (e.getActorId() != null) ? actorEmails.getOrDefault(e.getActorId(), "Someone") : "Someone";
+
+            String msg = "SUBTASK".equals(e.getEntityType())
+                    ? buildSubtaskMessage(e.getType(), actorEmail, e.getTaskId(), e.getTaskTitle())
+                    : buildMessage(e.getType(), actorEmail, e.getTaskId(), e.getTaskTitle());
+
+            boolean coalesce = coalesceWindowSeconds > 0 && coalesceTypes.contains(e.getType());
+
+            for (Long rid : e.getRecipientIds()) {
+                User recipient = users.get(rid);
+                if (recipient == null) continue;
+
+                Notification n = Notification.builder()
+                        .recipient(recipient)
+                        .type(e.getType())
+                        .title(e.getTitle())
+                        .message(msg)
+                        .entityType(e.getEntityType())
+                        .entityId(e.getEntityId())
+                        .actor(actor)
+                        .createdAt(e.getOccurredAt())
+                        .build();
+
+                if (!coalesce) {
+                    notifications.add(n);
+                    continue;
+                }
+
+                // cùng key trong lô: giữ message mới nhất, createdAt của event đầu tiên, cộng số đếm
+                coalesced.merge(new CoalesceKey(rid, e.getType(), e.getEntityType(), e.getEntityId()), n,
+                        (first, latest) -> {
+                            latest.setCreatedAt(first.getCreatedAt());
+                            latest.setCoalescedCount(first.getCoalescedCount() + latest.getCoalescedCount());
+                            return latest;
+                        });
+            }
         }
+
+        List<Notification> folded = coalesce(coalesced);
+        notifications.addAll(coalesced.values());
+
+        notificationRepository.saveAll(notifications);
+
+        // notification gộp vào row chưa đọc có sẵn không làm tăng số chưa đọc
+        Map<Long, Integer> unreadByRecipient = new HashMap<>();
+        notifications.forEach(n -> unreadByRecipient.merge(n.getRecipient().getId(), 1, Integer::sum));
+        unreadCounter.incrementAll(unreadByRecipient);
+
+        // push SSE cho recipient đang kết nối vào node này (id đã có từ pooled generator)
+        Map<Long, List<NotificationResponse>> pushes = new HashMap<>();
+        for (Notification n : concat(notifications, folded)) {
+            Long rid = n.getRecipient().getId();
+            if (!streamRegistry.hasSubscribers(rid)) continue;
+
+            Long actorId = (n.getActor() != null) ? n.getActor().getId() : null;
+            pushes.computeIfAbsent(rid, k -> new ArrayList<>())
+                    .add(mapper.toResponse(n, (actorId != null) ? actorEmails.get(actorId) : null));
+        }
+        streamRegistry.publishAfterCommit(pushes);
+    }
+
+    // Gộp vào notification chưa đọc cùng key tạo trong cửa sổ coalesce (1 query tìm + 1 UPDATE atomic / key trúng).
+    // Key đã gộp được bỏ khỏi map; trả về bản để push (id, createdAt, số đếm của row đã có).
+    private List<Notification> coalesce(Map<CoalesceKey, Notification> pending) {
+        if (pending.isEmpty()) return List.of();
+
+        Set<Long> recipientIds = new HashSet<>();
+        Set<NotificationType> types = EnumSet.noneOf(NotificationType.class);
+        pending.keySet().forEach(k -> {
+            recipientIds.add(k.recipientId());
+            types.add(k.type());
+        });
+
+        Map<CoalesceKey, NotificationCoalesceView> existing = new HashMap<>();
+        Instant since = Instant.now().minusSeconds(coalesceWindowSeconds);
+        for (NotificationCoalesceView v : notificationRepository.findCoalesceCandidates(recipientIds, types, since)) {
+            existing.merge(new CoalesceKey(v.getRecipientId(), v.getType(), v.getEntityType(), v.getEntityId()), v,
+                    (a, b) -> a.getId() > b.getId() ? a : b);
+        }
+
+        List<Notification> folded = new ArrayList<>();
+        Iterator<Map.Entry<CoalesceKey, Notification>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<CoalesceKey, Notification> entry = it.next();
+            NotificationCoalesceView v = existing.get(entry.getKey());
+            if (v == null) continue;
+
+            Notification n = entry.getValue();
+            int updated = notificationRepository.coalesce(
+                    v.getId(), n.getCoalescedCount(), n.getTitle(), n.getMessage(), n.getActor());
+            if (updated == 0) continue; // vừa được đọc -> tạo notification mới
+
+            n.setId(v.getId());
+            n.setCreatedAt(v.getCreatedAt());
+            n.setCoalescedCount(v.getCoalescedCount() + n.getCoalescedCount());
+            folded.add(n);
+            it.remove();
+        }
+        return folded;
+    }
+
+    private List<Notification> concat(List<Notification> a, List<Notification> b) {
+        List<Notification> all = new ArrayList<>(a.size() + b.size());
+        all.addAll(a);
+        all.addAll(b);
+        return all;
+    }
+
+    private record CoalesceKey(Long recipientId, NotificationType type, String entityType, Long entityId) {
+    }
+
+    private NotificationPayload taskPayload(Task task, Long actorId, NotificationType type) {
+        Long createdById = task.getCreatedBy() != null ? task.getCreatedBy().getId() : null;
+        Long assigneeId  = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        return taskPayload(task.getId(), task.getTitle(), createdById, assigneeId, actorId, type);
+    }
+
+    private NotificationPayload taskPayload(
+            Long taskId, String taskTitle, Long createdById, Long assigneeId, Long actorId, NotificationType type
+    ) {
+        Set<Long> recipientIds = recipientIds(createdById, assigneeId, actorId, type);
+        if (recipientIds.isEmpty()) return null;
+
+        return NotificationPayload.builder()
+                .type(type)
+                .title((taskTitle != null) ? taskTitle : buildTitle(type))
+                .entityType("TASK")
+                .entityId(taskId)
+                .taskId(taskId)
+                .taskTitle(taskTitle)
+                .actorId(actorId)
+                .recipientIds(new ArrayList<>(recipientIds))
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    private Set<Long> recipientIds(Long createdById, Long assigneeId, Long actorId, NotificationType type) {
+        Set<Long> recipientIds = new LinkedHashSet<>();
+
+        switch (type) {
+            case TASK_ASSIGNED -> {
+                if (assigneeId != null) recipientIds.add(assigneeId);
+            }
+            default -> {
+                if (createdById != null) recipientIds.add(createdById);
+                if (assigneeId != null) recipientIds.add(assigneeId);
+            }
+        }
+
+        boolean allowSelf = (type == NotificationType.TASK_CREATED && assigneeId == null);
+
+        if (!allowSelf && actorId != null) {
+            recipientIds.remove(actorId);
+            if (recipientIds.isEmpty()) recipientIds.add(actorId);
+        }
+        return recipientIds;
     }
 
     private String buildTitle(NotificationType type) {
@@ -137,10 +334,19 @@ public class NotificationHelper {
         };
     }
 
-    private String buildMessage(NotificationType type, User actor, Task task) {
-        String actorEmail = (actor != null ? actor.getEmail() : "Someone");
-        String title = (task != null ? task.getTitle() : "");
-        Long taskId = (task != null ? task.getId() : null);
+    private String buildSubtaskMessage(NotificationType type, String actorEmail, Long taskId, String taskTitle) {
+        return actorEmail
+                + " " + switch (type) {
+            case SUBTASK_CREATED -> "created a subtask";
+            case SUBTASK_UPDATED -> "updated a subtask";
+            case SUBTASK_DELETED -> "deleted a subtask";
+            default -> "did something to a subtask";
+        }
+                + " in task #" + taskId + ": \"" + taskTitle + "\"";
+    }
+
+    private String buildMessage(NotificationType type, String actorEmail, Long taskId, String taskTitle) {
+        String title = (taskTitle != null ? taskTitle : "");
 
         return switch (type) {
             case TASK_CREATED ->
@@ -8,6 +8,11 @@ import org.springframework.stereotype.Component;
 public class NotificationMapper {
 
     public NotificationResponse toResponse(Notification n) {
+        return toResponse(n, n.getActor() != null ? n.getActor().getEmail() : null);
+    }
+
+    // actor là reference chưa load (vd lúc dispatcher ghi): truyền email sẵn có để không phải query
+    public NotificationResponse toResponse(Notification n, String actorEmail) {
         return NotificationResponse.builder()
                 .id(n.getId())
                 .type(n.getType())
@@ -16,7 +21,8 @@ public class NotificationMapper {
                 .entityType(n.getEntityType())
                 .entityId(n.getEntityId())
                 .actorId(n.getActor() != null ? n.getActor().getId() : null)
-                .actorEmail(n.getActor() != null ? n.getActor().getEmail() : null)
+                .actorEmail(actorEmail)
+                .coalescedCount(n.getCoalescedCount())
                 .readAt(n.getReadAt())
                 .createdAt(n.getCreatedAt())
                 .build();
@@ -0,0 +1,242 @@
+package com.chung.taskcrud.notification.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Dọn bảng notifications định kỳ:
+ * - xoá notification đã đọc cũ hơn read-max-age-days
+ * - mỗi user giữ tối đa max-unread-per-user notification chưa đọc (xoá cái cũ nhất, trừ unread counter cùng transaction)
+ *
+ * Xoá theo chunk nhỏ (DELETE ... WHERE id IN (...) đã sort theo PK, mỗi chunk 1 transaction ngắn) và nghỉ giữa các chunk
+ * để không giữ lock lâu / không dồn replication lag.
+ * Chạy được trên mọi node: chỉ node lấy được advisory lock MySQL (GET_LOCK) mới chạy, lock tự nhả khi connection đóng.
+ */
+@Slf4j
+@Component
+public class NotificationRetentionJob {
+
+    private static final String LOCK_NAME = "taskcrud.notification_retention";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int readMaxAgeDays;
+    private final int maxUnreadPerUser;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxChunksPerRun;
+
+    private final Counter purgedRead;
+    private final Counter purgedUnread;
+    private final DistributionSummary purgedPerRun;
+    private final Timer runTimer;
+
+    public NotificationRetentionJob(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.retention.read-max-age-days:90}") int readMaxAgeDays,
+            @Value("${app.notifications.retention.max-unread-per-user:1000}") int maxUnreadPerUser,
+            @Value("${app.notifications.retention.chunk-size:500}") int chunkSize,
+            @Value("${app.notifications.retention.pause-ms:100}") long pauseMillis,
+            @Value("${app.notifications.retention.max-chunks-per-run:2000}") int maxChunksPerRun
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readMaxAgeDays = readMaxAgeDays;
+        this.maxUnreadPerUser = maxUnreadPerUser;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.purgedRead = Counter.builder("notifications.retention.purged")
+                .tag("reason", "read_expired")
+                .register(meterRegistry);
+        this.purgedUnread = Counter.builder("notifications.retention.purged")
+                .tag("reason", "unread_cap")
+                .register(meterRegistry);
+        this.purgedPerRun = DistributionSummary.builder("notifications.retention.run.purged")
+                .description("Số notification bị xoá mỗi lần chạy")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("notifications.retention.run.duration").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        // cả lần chạy dùng 1 connection: GET_LOCK gắn với connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(con, true));
+
+            Integer locked = jdbc.queryForObject("select get_lock(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                log.info("Notification retention skipped: another node holds the lock");
+                return null;
+            }
+
+            try {
+                runTimer.record(() -> {
+                    Budget budget = new Budget(maxChunksPerRun);
+                    long read = purgeExpiredRead(jdbc, budget);
+                    long unread = purgeUnreadOverCap(con, jdbc, budget);
+
+                    purgedPerRun.record(read + unread);
+                    log.info("Notification retention purged {} read, {} unread over cap", read, unread);
+                });
+            } finally {
+                jdbc.queryForObject("select release_lock(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+
+    private long purgeExpiredRead(JdbcTemplate jdbc, Budget budget) {
+        if (readMaxAgeDays <= 0) return 0;
+
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(Duration.ofDays(readMaxAgeDays)));
+        // vị trí (created_at, id) của chunk trước: chunk sau seek tiếp từ đó,
+        // không quét lại các row chưa đọc cũ hơn cutoff (không bị xoá) ở đầu index mỗi lần
+        Timestamp lastCreatedAt = new Timestamp(0);
+        long lastId = 0;
+        long total = 0;
+
+        while (budget.take()) {
+            // index created_at (InnoDB kèm id): range quét từ vị trí trước tới cutoff
+            List<ReadCandidate> rows = jdbc.query("""
+                    select id, created_at from notifications
+                    where created_at < ?
+                      and (created_at > ? or (created_at = ? and id > ?))
+                      and read_at is not null
+                    order by created_at, id
+                    limit ?
+                    """,
+                    (rs, i) -> new ReadCandidate(rs.getLong("id"), rs.getTimestamp("created_at")),
+                    cutoff, lastCreatedAt, lastCreatedAt, lastId, chunkSize);
+            if (rows.isEmpty()) break;
+
+            ReadCandidate last = rows.get(rows.size() - 1);
+            lastCreatedAt = last.createdAt();
+            lastId = last.id();
+
+            List<Long> ids = rows.stream().map(ReadCandidate::id).toList();
+            int deleted = deleteChunk(jdbc, ids, "read_at is not null");
+            purgedRead.increment(deleted);
+            total += deleted;
+
+            if (rows.size() < chunkSize) break;
+            pause();
+        }
+        return total;
+    }
+
+    private long purgeUnreadOverCap(Connection con, JdbcTemplate jdbc, Budget budget) {
+        if (maxUnreadPerUser <= 0) return 0;
+
+        // counter đã duy trì sẵn nên không cần GROUP BY trên notifications
+        List<Long> userIds = jdbc.queryForList(
+                "select user_id from notification_unread_counters where unread_count > ? order by user_id",
+                Long.class, maxUnreadPerUser);
+        long total = 0;
+
+        for (Long userId : userIds) {
+            while (budget.take()) {
+                // bỏ qua max-unread-per-user cái mới nhất (index recipient_id, read_at, created_at), lấy chunk cũ hơn
+                List<Long> ids = jdbc.queryForList("""
+                        select id from notifications
+                        where recipient_id = ? and read_at is null
+                        order by created_at desc, id desc
+                        limit ? offset ?
+                        """, Long.class, userId, chunkSize, maxUnreadPerUser);
+                if (ids.isEmpty()) break;
+
+                int deleted = inTransaction(con, () -> {
+                    int n = deleteChunk(jdbc, ids, "read_at is null");
+                    jdbc.update(
+                            "update notification_unread_counters set unread_count = greatest(unread_count - ?, 0) where user_id = ?",
+                            n, userId);
+                    return n;
+                });
+                purgedUnread.increment(deleted);
+                total += deleted;
+
+                if (ids.size() < chunkSize) break;
+                pause();
+            }
+        }
+        return total;
+    }
+
+    // id sort tăng dần: các lần xoá lock row theo cùng thứ tự PK
+    private int deleteChunk(JdbcTemplate jdbc, List<Long> ids, String guard) {
+        List<Long> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+
+        String in = sorted.stream().map(id -> "?").collect(Collectors.joining(","));
+        return jdbc.update("delete from notifications where id in (" + in + ") and " + guard, sorted.toArray());
+    }
+
+    private int inTransaction(Connection con, ChunkWork work) {
+        try {
+            con.setAutoCommit(false);
+            try {
+                int result = work.run();
+                con.commit();
+                return result;
+            } catch (RuntimeException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Notification retention chunk failed", e);
+        }
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) return;
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ReadCandidate(long id, Timestamp createdAt) {
+    }
+
+    private interface ChunkWork {
+        int run();
+    }
+
+    // giới hạn số chunk / lần chạy, phần còn lại để lần sau
+    private static final class Budget {
+        private int remaining;
+
+        private Budget(int chunks) {
+            this.remaining = chunks;
+        }
+
+        boolean take() {
+            if (Thread.currentThread().isInterrupted() || remaining <= 0) return false;
+            remaining--;
+            return true;
+        }
+    }
+}
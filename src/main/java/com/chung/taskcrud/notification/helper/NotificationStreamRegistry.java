@@ -0,0 +1,192 @@
+package com.chung.taskcrud.notification.helper;
+
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.notification.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry in-memory (theo node) các kết nối SSE của GET /api/notifications/stream.
+ * - Kết nối idle không giữ thread (servlet async); gửi event chạy trên virtual thread, tối đa 1 sender / kết nối
+ * - Mỗi kết nối có buffer giới hạn: client đọc chậm làm buffer đầy thì bị ngắt, client tự reconnect với Last-Event-ID
+ * - Heartbeat định kỳ giữ kết nối qua proxy / LB và phát hiện kết nối chết
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxPerUser;
+    private final int maxConnections;
+
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public NotificationStreamRegistry(
+            @Qualifier("virtualThreadExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.notifications.stream.buffer-size:100}") int bufferSize,
+            @Value("${app.notifications.stream.max-connections-per-user:5}") int maxPerUser,
+            @Value("${app.notifications.stream.max-connections:20000}") int maxConnections
+    ) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxPerUser = maxPerUser;
+        this.maxConnections = maxConnections;
+
+        Gauge.builder("notifications.stream.connections", connections, AtomicInteger::get)
+                .description("Số kết nối SSE đang mở trên node này")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, List<NotificationResponse> missed) {
+        if (connections.get() >= maxConnections) {
+            throw new AppException(ErrorCode.NOTIFICATION_STREAM_UNAVAILABLE);
+        }
+
+        Subscriber sub = new Subscriber(userId, new SseEmitter(timeoutMillis));
+        sub.emitter.onCompletion(() -> remove(sub));
+        sub.emitter.onTimeout(() -> remove(sub));
+        sub.emitter.onError(e -> remove(sub));
+
+        Set<Subscriber> subs = byUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+        subs.add(sub);
+        connections.incrementAndGet();
+
+        // quá số tab cho phép -> đóng kết nối cũ nhất
+        if (subs.size() > maxPerUser) {
+            subs.stream()
+                    .filter(s -> s != sub)
+                    .min(Comparator.comparingLong(s -> s.openedAt))
+                    .ifPresent(Subscriber::close);
+        }
+
+        // comment đầu tiên để header được flush ngay
+        sub.offer(SseEmitter.event().comment("connected"));
+        missed.forEach(n -> sub.offer(event(n)));
+        return sub.emitter;
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        Set<Subscriber> subs = byUser.get(userId);
+        return subs != null && !subs.isEmpty();
+    }
+
+    // gọi trong transaction ghi notification: chỉ push sau khi commit (rollback thì không push)
+    public void publishAfterCommit(Map<Long, List<NotificationResponse>> byRecipient) {
+        if (byRecipient.isEmpty()) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(byRecipient);
+                }
+            });
+        } else {
+            publish(byRecipient);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        byUser.values().forEach(subs -> subs.forEach(s -> s.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    private void publish(Map<Long, List<NotificationResponse>> byRecipient) {
+        byRecipient.forEach((userId, items) -> {
+            Set<Subscriber> subs = byUser.get(userId);
+            if (subs == null) return;
+
+            subs.forEach(s -> items.forEach(n -> s.offer(event(n))));
+        });
+    }
+
+    private SseEmitter.SseEventBuilder event(NotificationResponse n) {
+        return SseEmitter.event()
+                .id(String.valueOf(n.getId()))
+                .name("notification")
+                .data(n);
+    }
+
+    private void remove(Subscriber sub) {
+        if (!sub.removed.compareAndSet(false, true)) return;
+
+        connections.decrementAndGet();
+        byUser.computeIfPresent(sub.userId, (id, subs) -> {
+            subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long openedAt = System.nanoTime();
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (removed.get()) return;
+
+            if (!buffer.offer(event)) {
+                // slow consumer: không chờ, ngắt để client reconnect và resume từ DB
+                close();
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+
+            // event đến giữa lúc poll() trả null và sending.set(false)
+            if (!buffer.isEmpty() && sending.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        void close() {
+            remove(this);
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.chung.taskcrud.notification.helper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Số notification chưa đọc của mỗi user (badge), lưu ở notification_unread_counters.
+ * - increment / decrement chạy trong transaction ghi / đọc notification nên commit hay rollback cùng nhau
+ * - get đọc cache in-memory (TTL ngắn, evict sau commit trên node này), miss thì 1 query theo PK
+ * - reconcile định kỳ đếm lại từ bảng notifications để sửa lệch (vd update tay, bug)
+ */
+@Component
+public class NotificationUnreadCounter {
+
+    private static final int MAX_USERS = 10_000;
+    private static final int RECONCILE_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+    // tăng mỗi lần evict: giá trị đọc trước lúc evict sẽ không được put vào cache
+    private final AtomicLong generation = new AtomicLong();
+
+    public NotificationUnreadCounter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.notifications.unread-count.cache-ttl-ms:5000}") long ttlMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public long get(Long userId) {
+        Entry e = cache.get(userId);
+        if (e != null && System.currentTimeMillis() - e.loadedAt < ttlMillis) {
+            return e.count;
+        }
+
+        long gen = generation.get();
+        List<Long> rows = jdbcTemplate.queryForList(
+                "select unread_count from notification_unread_counters where user_id = ?", Long.class, userId);
+        long count = rows.isEmpty() ? 0 : Math.max(rows.get(0), 0);
+
+        if (generation.get() == gen) {
+            if (cache.size() >= MAX_USERS && !cache.containsKey(userId)) cache.clear();
+            cache.put(userId, new Entry(count, System.currentTimeMillis()));
+        }
+        return count;
+    }
+
+    // 1 multi-row upsert cho cả lô recipient
+    public void incrementAll(Map<Long, Integer> countByUserId) {
+        if (countByUserId.isEmpty()) return;
+
+        // sort theo user_id để các transaction lock row theo cùng thứ tự, tránh deadlock
+        TreeMap<Long, Integer> sorted = new TreeMap<>(countByUserId);
+        List<Object> args = new ArrayList<>(sorted.size() * 2);
+        sorted.forEach((userId, n) -> {
+            args.add(userId);
+            args.add(n);
+        });
+
+        String values = sorted.keySet().stream().map(id -> "(?, ?)").collect(Collectors.joining(","));
+        jdbcTemplate.update(
+                "insert into notification_unread_counters (user_id, unread_count) values " + values
+                        + " on duplicate key update unread_count = unread_count + values(unread_count)",
+                args.toArray()
+        );
+        evictAfterCommit(sorted.keySet());
+    }
+
+    public void decrement(Long userId, int n) {
+        if (n <= 0) return;
+
+        jdbcTemplate.update(
+                "update notification_unread_counters set unread_count = greatest(unread_count - ?, 0) where user_id = ?",
+                n, userId
+        );
+        evictAfterCommit(List.of(userId));
+    }
+
+    // đếm lại theo từng chunk user_id (mỗi câu UPDATE tự commit), dùng index (recipient_id, read_at, created_at)
+    @Scheduled(
+            initialDelayString = "${app.notifications.unread-count.reconcile-interval-ms:600000}",
+            fixedDelayString = "${app.notifications.unread-count.reconcile-interval-ms:600000}"
+    )
+    public void reconcile() {
+        long lastUserId = 0;
+
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "select user_id from notification_unread_counters where user_id > ? order by user_id limit ?",
+                    Long.class, lastUserId, RECONCILE_CHUNK);
+            if (ids.isEmpty()) break;
+
+            jdbcTemplate.update("""
+                    update notification_unread_counters c
+                    set c.unread_count = (
+                        select count(*) from notifications n
+                        where n.recipient_id = c.user_id and n.read_at is null
+                    )
+                    where c.user_id between ? and ?
+                    """, ids.get(0), ids.get(ids.size() - 1));
+
+            lastUserId = ids.get(ids.size() - 1);
+            if (ids.size() < RECONCILE_CHUNK) break;
+        }
+
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private void evictAfterCommit(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userIds);
+                }
+            });
+        } else {
+            evict(userIds);
+        }
+    }
+
+    private void evict(Collection<Long> userIds) {
+        generation.incrementAndGet();
+        userIds.forEach(cache::remove);
+    }
+
+    private record Entry(long count, long loadedAt) {
+    }
+}
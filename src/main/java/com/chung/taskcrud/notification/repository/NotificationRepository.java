@@ -1,13 +1,101 @@
 package com.chung.taskcrud.notification.repository;
 
+import com.chung.taskcrud.auth.entity.User;
 import com.chung.taskcrud.notification.entity.Notification;
+import com.chung.taskcrud.notification.entity.NotificationType;
+import com.chung.taskcrud.notification.repository.projection.NotificationCoalesceView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     Page<Notification> findAllByRecipient_IdOrderByCreatedAtDesc(Long recipientId, Pageable pageable);
 
     Page<Notification> findAllByRecipient_IdAndReadAtIsNullOrderByCreatedAtDesc(Long recipientId, Pageable pageable);
+
+    // Keyset pagination (createdAt desc, id desc), không COUNT:
+    // - tất cả: index (recipient_id, created_at, id)
+    // - chưa đọc: index (recipient_id, read_at, created_at) + PK InnoDB tự gắn cuối index
+    // điều kiện seek viết dạng "createdAt <= c and (...)" để MySQL dùng được range trên created_at
+    List<Notification> findByRecipient_IdOrderByCreatedAtDescIdDesc(Long recipientId, Limit limit);
+
+    List<Notification> findByRecipient_IdAndReadAtIsNullOrderByCreatedAtDescIdDesc(Long recipientId, Limit limit);
+
+    @Query("""
+        select n from Notification n
+        where n.recipient.id = :recipientId
+          and n.createdAt <= :createdAt and (n.createdAt < :createdAt or n.id < :id)
+        order by n.createdAt desc, n.id desc
+    """)
+    List<Notification> findPageAfter(Long recipientId, Instant createdAt, Long id, Limit limit);
+
+    @Query("""
+        select n from Notification n
+        where n.recipient.id = :recipientId and n.readAt is null
+          and n.createdAt <= :createdAt and (n.createdAt < :createdAt or n.id < :id)
+        order by n.createdAt desc, n.id desc
+    """)
+    List<Notification> findUnreadPageAfter(Long recipientId, Instant createdAt, Long id, Limit limit);
+
+    @Query("select n.createdAt from Notification n where n.id = :id and n.recipient.id = :recipientId")
+    Optional<Instant> findCreatedAtByIdAndRecipientId(Long id, Long recipientId);
+
+    // SSE resume
+    @Query("""
+        select n from Notification n
+        where n.recipient.id = :recipientId and n.createdAt >= :since
+        order by n.createdAt asc, n.id asc
+    """)
+    List<Notification> findCreatedSince(Long recipientId, Instant since, Limit limit);
+
+    // mark-read từ nhiều tab cùng lúc: request sau chờ lock rồi thấy readAt != null, không trừ counter 2 lần
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select n from Notification n where n.id = :id")
+    Optional<Notification> findByIdForUpdate(Long id);
+
+    // set-based: ownership nằm trong WHERE, chỉ đếm row thực sự đổi (read_at is null) -> trừ counter chính xác
+    @Modifying
+    @Query("""
+        update Notification n set n.readAt = :now
+        where n.recipient.id = :recipientId and n.readAt is null and n.createdAt <= :before
+    """)
+    int markAllAsRead(Long recipientId, Instant before, Instant now);
+
+    @Modifying
+    @Query("""
+        update Notification n set n.readAt = :now
+        where n.recipient.id = :recipientId and n.readAt is null and n.id in :ids
+    """)
+    int markAsReadByIds(Long recipientId, Collection<Long> ids, Instant now);
+
+    // coalesce: notification chưa đọc cùng loại, tạo trong cửa sổ, của các recipient trong lô (index recipient_id, read_at, created_at)
+    @Query("""
+        select n.id as id, n.recipient.id as recipientId, n.type as type, n.entityType as entityType,
+               n.entityId as entityId, n.coalescedCount as coalescedCount, n.createdAt as createdAt
+        from Notification n
+        where n.recipient.id in :recipientIds and n.readAt is null and n.createdAt >= :since and n.type in :types
+    """)
+    List<NotificationCoalesceView> findCoalesceCandidates(
+            Collection<Long> recipientIds, Collection<NotificationType> types, Instant since
+    );
+
+    // cộng dồn atomic, không cần lock row; user vừa đọc (read_at != null) -> 0 row, caller tạo notification mới
+    @Modifying
+    @Query("""
+        update Notification n
+        set n.coalescedCount = n.coalescedCount + :count, n.title = :title, n.message = :message, n.actor = :actor
+        where n.id = :id and n.readAt is null
+    """)
+    int coalesce(Long id, int count, String title, String message, User actor);
 }
@@ -0,0 +1,15 @@
+package com.chung.taskcrud.notification.repository.projection;
+
+import com.chung.taskcrud.notification.entity.NotificationType;
+
+import java.time.Instant;
+
+public interface NotificationCoalesceView {
+    Long getId();
+    Long getRecipientId();
+    NotificationType getType();
+    String getEntityType();
+    Long getEntityId();
+    int getCoalescedCount();
+    Instant getCreatedAt();
+}
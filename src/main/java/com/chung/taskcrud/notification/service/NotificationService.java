@@ -1,9 +1,16 @@
 package com.chung.taskcrud.notification.service;
 
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
 import com.chung.taskcrud.common.dto.response.PageResponse;
+import com.chung.taskcrud.notification.dto.request.MarkNotificationsReadRequest;
+import com.chung.taskcrud.notification.dto.response.MarkNotificationsReadResponse;
 import com.chung.taskcrud.notification.dto.response.NotificationResponse;
+import com.chung.taskcrud.notification.dto.response.UnreadCountResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
 
 public interface NotificationService {
 
@@ -11,5 +18,17 @@ public interface NotificationService {
             Authentication auth, Long actorId, boolean unreadOnly, Pageable pageable
     );
 
+    CursorPageResponse<NotificationResponse> listMyNotificationsByCursor(
+            Authentication auth, Long actorId, boolean unreadOnly, String cursor, int size
+    );
+
     NotificationResponse markAsRead(Authentication auth, Long actorId, Long notificationId);
+
+    MarkNotificationsReadResponse markAllAsRead(Authentication auth, Long actorId, Instant before);
+
+    MarkNotificationsReadResponse markAsRead(Authentication auth, Long actorId, MarkNotificationsReadRequest request);
+
+    UnreadCountResponse unreadCount(Authentication auth, Long actorId);
+
+    SseEmitter stream(Authentication auth, Long actorId, Long lastEventId);
 }
@@ -1,30 +1,50 @@
 package com.chung.taskcrud.notification.service.impl;
 
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
 import com.chung.taskcrud.common.dto.response.PageResponse;
 import com.chung.taskcrud.common.exception.AppException;
 import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.notification.dto.request.MarkNotificationsReadRequest;
+import com.chung.taskcrud.notification.dto.response.MarkNotificationsReadResponse;
 import com.chung.taskcrud.notification.dto.response.NotificationResponse;
+import com.chung.taskcrud.notification.dto.response.UnreadCountResponse;
 import com.chung.taskcrud.notification.entity.Notification;
+import com.chung.taskcrud.notification.helper.NotificationCursorHelper;
 import com.chung.taskcrud.notification.helper.NotificationMapper;
+import com.chung.taskcrud.notification.helper.NotificationStreamRegistry;
+import com.chung.taskcrud.notification.helper.NotificationUnreadCounter;
 import com.chung.taskcrud.notification.repository.NotificationRepository;
 import com.chung.taskcrud.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    // notification được ghi bất đồng bộ (outbox) nên thứ tự ghi != thứ tự createdAt: resume lùi lại 1 khoảng
+    private static final Duration RESUME_SLACK = Duration.ofSeconds(30);
+    private static final int RESUME_LIMIT = 100;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final NotificationMapper mapper;
+    private final NotificationCursorHelper cursorHelper;
+    private final NotificationUnreadCounter unreadCounter;
+    private final NotificationStreamRegistry streamRegistry;
 
     @Override
     @Transactional(readOnly = true)
@@ -48,9 +68,51 @@ public class NotificationServiceImpl implements NotificationService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<NotificationResponse> listMyNotificationsByCursor(
+            Authentication auth, Long actorId, boolean unreadOnly, String cursor, int size
+    ) {
+        if (size < 1) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "Size must be greater than 0");
+        }
+        size = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+
+        // lấy dư 1 phần tử để biết còn trang sau, không cần COUNT(*)
+        Limit limit = Limit.of(size + 1);
+        List<Notification> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = unreadOnly
+                    ? notificationRepository.findByRecipient_IdAndReadAtIsNullOrderByCreatedAtDescIdDesc(actorId, limit)
+                    : notificationRepository.findByRecipient_IdOrderByCreatedAtDescIdDesc(actorId, limit);
+        } else {
+            var c = cursorHelper.decode(cursor);
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadPageAfter(actorId, c.createdAt(), c.id(), limit)
+                    : notificationRepository.findPageAfter(actorId, c.createdAt(), c.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<NotificationResponse> items = (hasNext ? rows.subList(0, size) : rows).stream()
+                .map(mapper::toResponse)
+                .toList();
+
+        String nextCursor = hasNext && !items.isEmpty()
+                ? cursorHelper.encode(items.get(items.size() - 1))
+                : null;
+
+        return CursorPageResponse.<NotificationResponse>builder()
+                .items(items)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Override
     public NotificationResponse markAsRead(Authentication auth, Long actorId, Long notificationId) {
-        Notification n = notificationRepository.findById(notificationId)
+        Notification n = notificationRepository.findByIdForUpdate(notificationId)
                 .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
 
         Long ownerId = (n.getRecipient() != null) ? n.getRecipient().getId() : null;
@@ -61,8 +123,65 @@ public class NotificationServiceImpl implements NotificationService {
         if (n.getReadAt() == null) {
             n.setReadAt(Instant.now());
             notificationRepository.save(n);
+            unreadCounter.decrement(actorId, 1);
         }
 
         return mapper.toResponse(n);
     }
+
+    // 1 câu UPDATE dùng index (recipient_id, read_at, created_at); before == null -> mọi notification hiện có
+    @Override
+    public MarkNotificationsReadResponse markAllAsRead(Authentication auth, Long actorId, Instant before) {
+        Instant now = Instant.now();
+        int updated = notificationRepository.markAllAsRead(actorId, (before != null) ? before : now, now);
+        unreadCounter.decrement(actorId, updated);
+
+        return MarkNotificationsReadResponse.builder().updated(updated).build();
+    }
+
+    // id của user khác / không tồn tại / đã đọc bị bỏ qua (không lỗi), chỉ tính vào updated những row đổi thật
+    @Override
+    public MarkNotificationsReadResponse markAsRead(Authentication auth, Long actorId, MarkNotificationsReadRequest request) {
+        List<Long> ids = request.getIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "Ids is required");
+        }
+
+        int updated = notificationRepository.markAsReadByIds(actorId, ids, Instant.now());
+        unreadCounter.decrement(actorId, updated);
+
+        return MarkNotificationsReadResponse.builder().updated(updated).build();
+    }
+
+    // cache hit thì không cần connection
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UnreadCountResponse unreadCount(Authentication auth, Long actorId) {
+        return UnreadCountResponse.builder()
+                .unreadCount(unreadCounter.get(actorId))
+                .build();
+    }
+
+    // Last-Event-ID = id notification cuối client nhận; resume có thể gửi trùng, client bỏ trùng theo id
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter stream(Authentication auth, Long actorId, Long lastEventId) {
+        List<NotificationResponse> missed = List.of();
+
+        if (lastEventId != null) {
+            missed = notificationRepository.findCreatedAtByIdAndRecipientId(lastEventId, actorId)
+                    .map(last -> notificationRepository
+                            .findCreatedSince(actorId, last.minus(RESUME_SLACK), Limit.of(RESUME_LIMIT))
+                            .stream()
+                            .filter(n -> !n.getId().equals(lastEventId))
+                            .map(mapper::toResponse)
+                            .toList())
+                    .orElse(List.of());
+        }
+
+        return streamRegistry.subscribe(actorId, missed);
+    }
 }
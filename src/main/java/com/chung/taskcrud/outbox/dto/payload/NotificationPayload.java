@@ -0,0 +1,30 @@
+package com.chung.taskcrud.outbox.dto.payload;
+
+import com.chung.taskcrud.notification.entity.NotificationType;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+// Đủ dữ liệu để dựng notification mà không cần đọc lại Task; chỉ actor email được load lúc dispatch
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPayload {
+    private NotificationType type;
+    private String title;
+
+    // TASK | SUBTASK
+    private String entityType;
+    private Long entityId;
+
+    private Long taskId;
+    private String taskTitle;
+
+    private Long actorId;
+    private List<Long> recipientIds;
+
+    private Instant occurredAt;
+}
@@ -0,0 +1,34 @@
+package com.chung.taskcrud.outbox.dto.payload;
+
+import com.chung.taskcrud.log.entity.TaskLogEventType;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskLogPayload {
+    private Long taskId;
+    private Long actorId;
+    private TaskLogEventType eventType;
+
+    // rỗng với log không có change (TASK_CREATED)
+    private List<Change> changes;
+
+    private Instant occurredAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Change {
+        private String fieldName;
+        private String oldValue;
+        private String newValue;
+    }
+}
@@ -0,0 +1,66 @@
+package com.chung.taskcrud.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Domain event ghi cùng transaction với mutation (transactional outbox).
+ * OutboxDispatcher đọc theo lô, ghi notification/log rồi xoá event trong cùng 1 transaction.
+ * Event lỗi quá số lần retry được giữ lại với failedAt != null để kiểm tra.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_failed_id", columnList = "failed_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_events_id")
+    @TableGenerator(
+            name = "outbox_events_id",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "outbox_events",
+            allocationSize = 50
+    )
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private OutboxEventType type;
+
+    // JSON của NotificationPayload / TaskLogPayload
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // chưa tới thời điểm này thì dispatcher bỏ qua (backoff sau khi lỗi)
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    @PrePersist
+    void prePersist() {
+        Instant now = Instant.now();
+        if (createdAt == null) createdAt = now;
+        if (availableAt == null) availableAt = createdAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.chung.taskcrud.outbox.entity;
+
+public enum OutboxEventType {
+    NOTIFICATION,
+    TASK_LOG
+}
@@ -0,0 +1,195 @@
+package com.chung.taskcrud.outbox.helper;
+
+import com.chung.taskcrud.log.helper.TaskLogHelper;
+import com.chung.taskcrud.notification.helper.NotificationHelper;
+import com.chung.taskcrud.outbox.dto.payload.NotificationPayload;
+import com.chung.taskcrud.outbox.dto.payload.TaskLogPayload;
+import com.chung.taskcrud.outbox.entity.OutboxEvent;
+import com.chung.taskcrud.outbox.entity.OutboxEventType;
+import com.chung.taskcrud.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drain outbox_events theo lô trên mọi node (SKIP LOCKED nên các node không giẫm lên nhau).
+ *
+ * Ghi notification/log và xoá event nằm trong cùng 1 transaction: crash giữa chừng thì rollback cả hai
+ * và event được xử lý lại (at-least-once), nhưng không bao giờ ghi trùng (idempotent).
+ * Lô lỗi được chạy lại từng event để cô lập event hỏng; event hỏng retry với backoff,
+ * quá maxAttempts thì giữ lại với failed_at.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final long MAX_BACKOFF_MS = Duration.ofMinutes(5).toMillis();
+    private static final long METRICS_REFRESH_MS = 5_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxHelper outboxHelper;
+    private final NotificationHelper notificationHelper;
+    private final TaskLogHelper taskLogHelper;
+
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private volatile long metricsRefreshedAt;
+
+    private final Counter dispatched;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            OutboxHelper outboxHelper,
+            NotificationHelper notificationHelper,
+            TaskLogHelper taskLogHelper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:200}") int batchSize,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxHelper = outboxHelper;
+        this.notificationHelper = notificationHelper;
+        this.taskLogHelper = taskLogHelper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Số event chưa xử lý (không tính event đã fail hẳn)")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("Tuổi (giây) của event chưa xử lý cũ nhất")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead", dead, AtomicLong::get)
+                .description("Số event đã vượt quá max attempts (failed_at != null)")
+                .register(meterRegistry);
+
+        this.dispatched = Counter.builder("outbox.dispatched").register(meterRegistry);
+        this.failures = Counter.builder("outbox.failures").register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.batch.duration").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void drain() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            if (dispatchBatch() < batchSize) break;
+        }
+        refreshMetrics();
+    }
+
+    private int dispatchBatch() {
+        try {
+            Integer handled = batchTimer.record(() -> tx.execute(status -> {
+                List<OutboxEvent> events = outboxEventRepository.lockPending(Instant.now(), batchSize);
+                handle(events);
+                return events.size();
+            }));
+            return handled != null ? handled : 0;
+        } catch (RuntimeException e) {
+            log.warn("Outbox batch failed, retrying events one by one: {}", e.toString());
+            return dispatchOneByOne();
+        }
+    }
+
+    private int dispatchOneByOne() {
+        List<Long> ids = tx.execute(status ->
+                outboxEventRepository.findPendingIds(Instant.now(), Limit.of(batchSize)));
+        if (ids == null) return 0;
+
+        for (Long id : ids) {
+            try {
+                tx.executeWithoutResult(status ->
+                        outboxEventRepository.lockPendingById(id).ifPresent(e -> handle(List.of(e))));
+            } catch (RuntimeException e) {
+                recordFailure(id, e);
+            }
+        }
+        return ids.size();
+    }
+
+    private void handle(List<OutboxEvent> events) {
+        if (events.isEmpty()) return;
+
+        List<NotificationPayload> notifications = events.stream()
+                .filter(e -> e.getType() == OutboxEventType.NOTIFICATION)
+                .map(e -> outboxHelper.read(e, NotificationPayload.class))
+                .toList();
+        List<TaskLogPayload> logs = events.stream()
+                .filter(e -> e.getType() == OutboxEventType.TASK_LOG)
+                .map(e -> outboxHelper.read(e, TaskLogPayload.class))
+                .toList();
+
+        notificationHelper.writeAll(notifications);
+        taskLogHelper.writeAll(logs);
+
+        // 1 câu DELETE ... WHERE id IN (...)
+        outboxEventRepository.deleteAllInBatch(events);
+        dispatched.increment(events.size());
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        failures.increment();
+        log.error("Outbox event {} failed", id, error);
+
+        tx.executeWithoutResult(status -> outboxEventRepository.findById(id).ifPresent(e -> {
+            int attempts = e.getAttempts() + 1;
+            e.setAttempts(attempts);
+            e.setLastError(truncate(error.toString()));
+
+            if (attempts >= maxAttempts) {
+                e.setFailedAt(Instant.now());
+            } else {
+                long backoff = Math.min(1000L << Math.min(attempts, 20), MAX_BACKOFF_MS);
+                e.setAvailableAt(Instant.now().plusMillis(backoff));
+            }
+        }));
+    }
+
+    private void refreshMetrics() {
+        long now = System.currentTimeMillis();
+        if (now - metricsRefreshedAt < METRICS_REFRESH_MS) return;
+        metricsRefreshedAt = now;
+
+        try {
+            Tuple stats = outboxEventRepository.pendingStats();
+            Instant oldest = stats.get("oldestCreatedAt", Instant.class);
+
+            pending.set(stats.get("pending", Long.class));
+            lagMillis.set(oldest != null ? Math.max(0, now - oldest.toEpochMilli()) : 0);
+            dead.set(outboxEventRepository.countByFailedAtIsNotNull());
+        } catch (RuntimeException e) {
+            log.warn("Cannot refresh outbox metrics: {}", e.toString());
+        }
+    }
+
+    private String truncate(String s) {
+        return (s.length() <= 1000) ? s : s.substring(0, 1000);
+    }
+}
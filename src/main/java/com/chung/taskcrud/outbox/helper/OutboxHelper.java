@@ -0,0 +1,43 @@
+package com.chung.taskcrud.outbox.helper;
+
+import com.chung.taskcrud.outbox.entity.OutboxEvent;
+import com.chung.taskcrud.outbox.entity.OutboxEventType;
+import com.chung.taskcrud.outbox.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxHelper {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // MANDATORY: event phải commit/rollback cùng mutation sinh ra nó
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, Object payload) {
+        outboxEventRepository.save(toEvent(type, payload));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(OutboxEventType type, List<?> payloads) {
+        if (payloads.isEmpty()) return;
+        outboxEventRepository.saveAll(payloads.stream().map(p -> toEvent(type, p)).toList());
+    }
+
+    public <T> T read(OutboxEvent event, Class<T> payloadType) {
+        return objectMapper.readValue(event.getPayload(), payloadType);
+    }
+
+    private OutboxEvent toEvent(OutboxEventType type, Object payload) {
+        return OutboxEvent.builder()
+                .type(type)
+                .payload(objectMapper.writeValueAsString(payload))
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.chung.taskcrud.outbox.repository;
+
+import com.chung.taskcrud.outbox.entity.OutboxEvent;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED: nhiều node cùng drain thì mỗi node lấy 1 lô khác nhau, không chờ lock của nhau
+    @Query(value = """
+        select * from outbox_events
+        where failed_at is null and available_at <= :now
+        order by id
+        limit :limit
+        for update skip locked
+    """, nativeQuery = true)
+    List<OutboxEvent> lockPending(Instant now, int limit);
+
+    @Query(value = """
+        select * from outbox_events
+        where id = :id and failed_at is null
+        for update skip locked
+    """, nativeQuery = true)
+    Optional<OutboxEvent> lockPendingById(Long id);
+
+    @Query("""
+        select e.id from OutboxEvent e
+        where e.failedAt is null and e.availableAt <= :now
+        order by e.id
+    """)
+    List<Long> findPendingIds(Instant now, Limit limit);
+
+    // metrics: alias "pending", "oldestCreatedAt"
+    @Query("""
+        select count(e) as pending, min(e.createdAt) as oldestCreatedAt
+        from OutboxEvent e
+        where e.failedAt is null
+    """)
+    Tuple pendingStats();
+
+    long countByFailedAtIsNotNull();
+}
@@ -0,0 +1,181 @@
+package com.chung.taskcrud.task.bulk.controller;
+
+import com.chung.taskcrud.common.dto.response.ApiResponse;
+import com.chung.taskcrud.task.bulk.dto.request.BulkAssignTaskRequest;
+import com.chung.taskcrud.task.bulk.dto.request.BulkCreateTaskRequest;
+import com.chung.taskcrud.task.bulk.dto.request.BulkUpdateTaskStatusRequest;
+import com.chung.taskcrud.task.bulk.dto.response.BulkTaskResponse;
+import com.chung.taskcrud.task.bulk.service.TaskBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/tasks/bulk")
+@Tag(name = "Tasks - Bulk", description = "Tạo / đổi status / assign nhiều task trong 1 request, trả kết quả từng item")
+@SecurityRequirement(name = "bearerAuth")
+public class TaskBulkController {
+
+    private final TaskBulkService taskBulkService;
+
+    private String traceId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Operation(
+            summary = "Tạo nhiều task",
+            description = """
+                    Tạo tối đa `app.task-bulk.max-items` (mặc định 500) task trong 1 transaction.
+                    Item lỗi (thiếu title, assignee không tồn tại...) chỉ fail item đó, xem `items[].success`.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công (kể cả khi có item fail)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Danh sách rỗng / vượt quá số item cho phép",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @PostMapping
+    public ResponseEntity<ApiResponse<BulkTaskResponse>> create(
+            @Parameter(hidden = true) Authentication authentication,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Danh sách task cần tạo",
+                    content = @Content(
+                            schema = @Schema(implementation = BulkCreateTaskRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Bulk create example",
+                                    value = """
+                                    {
+                                      "items": [
+                                        { "title": "Import batch 1", "priority": "HIGH", "tags": ["import"] },
+                                        { "title": "Import batch 2", "assigneeId": 5 }
+                                      ]
+                                    }
+                                    """
+                            )
+                    )
+            )
+            @Valid @RequestBody BulkCreateTaskRequest request,
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        BulkTaskResponse data = taskBulkService.create(authentication, actorId, request);
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+
+    @Operation(
+            summary = "Đổi status nhiều task",
+            description = "Mỗi task được check quyền riêng; task không tồn tại / không có quyền chỉ fail item đó."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công (kể cả khi có item fail)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Validation fail / vượt quá số item cho phép",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @PutMapping("/status")
+    public ResponseEntity<ApiResponse<BulkTaskResponse>> updateStatus(
+            @Parameter(hidden = true) Authentication authentication,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Danh sách task id + status mới",
+                    content = @Content(
+                            schema = @Schema(implementation = BulkUpdateTaskStatusRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Bulk status example",
+                                    value = """
+                                    { "taskIds": [100, 101, 102], "status": "DONE" }
+                                    """
+                            )
+                    )
+            )
+            @Valid @RequestBody BulkUpdateTaskStatusRequest request,
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        BulkTaskResponse data = taskBulkService.updateStatus(authentication, actorId, request);
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+
+    @Operation(
+            summary = "Assign nhiều task",
+            description = "Mỗi task được check quyền riêng; task không tồn tại / không có quyền chỉ fail item đó."
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công (kể cả khi có item fail)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Validation fail / assignee không tồn tại / vượt quá số item cho phép",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @PutMapping("/assignee")
+    public ResponseEntity<ApiResponse<BulkTaskResponse>> assign(
+            @Parameter(hidden = true) Authentication authentication,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Danh sách task id + assignee",
+                    content = @Content(
+                            schema = @Schema(implementation = BulkAssignTaskRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Bulk assign example",
+                                    value = """
+                                    { "taskIds": [100, 101, 102], "assigneeId": 5 }
+                                    """
+                            )
+                    )
+            )
+            @Valid @RequestBody BulkAssignTaskRequest request,
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        BulkTaskResponse data = taskBulkService.assign(authentication, actorId, request);
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+}
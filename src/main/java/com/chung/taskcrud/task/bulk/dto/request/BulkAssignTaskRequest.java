@@ -0,0 +1,21 @@
+package com.chung.taskcrud.task.bulk.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAssignTaskRequest {
+
+    @NotEmpty(message = "TaskIds is required")
+    private List<Long> taskIds;
+
+    @NotNull(message = "AssigneeId is required")
+    private Long assigneeId;
+}
@@ -0,0 +1,19 @@
+package com.chung.taskcrud.task.bulk.dto.request;
+
+import com.chung.taskcrud.task.dto.request.CreateTaskRequest;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateTaskRequest {
+
+    // không @Valid từng item: item lỗi chỉ fail item đó (xem BulkTaskItemResult), không fail cả request
+    @NotEmpty(message = "Items is required")
+    private List<CreateTaskRequest> items;
+}
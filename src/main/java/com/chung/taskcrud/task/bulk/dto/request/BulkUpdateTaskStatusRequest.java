@@ -0,0 +1,22 @@
+package com.chung.taskcrud.task.bulk.dto.request;
+
+import com.chung.taskcrud.task.entity.TaskStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateTaskStatusRequest {
+
+    @NotEmpty(message = "TaskIds is required")
+    private List<Long> taskIds;
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
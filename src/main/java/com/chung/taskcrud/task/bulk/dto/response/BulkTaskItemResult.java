@@ -0,0 +1,20 @@
+package com.chung.taskcrud.task.bulk.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskItemResult {
+
+    // vị trí của item trong request
+    private int index;
+    private Long taskId;
+    private boolean success;
+
+    // chỉ có khi success = false (ErrorCode.code + message)
+    private String errorCode;
+    private String message;
+}
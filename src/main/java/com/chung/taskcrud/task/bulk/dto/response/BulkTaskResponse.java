@@ -0,0 +1,19 @@
+package com.chung.taskcrud.task.bulk.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+
+    // cùng thứ tự với item trong request
+    private List<BulkTaskItemResult> items;
+}
@@ -0,0 +1,15 @@
+package com.chung.taskcrud.task.bulk.service;
+
+import com.chung.taskcrud.task.bulk.dto.request.BulkAssignTaskRequest;
+import com.chung.taskcrud.task.bulk.dto.request.BulkCreateTaskRequest;
+import com.chung.taskcrud.task.bulk.dto.request.BulkUpdateTaskStatusRequest;
+import com.chung.taskcrud.task.bulk.dto.response.BulkTaskResponse;
+import org.springframework.security.core.Authentication;
+
+public interface TaskBulkService {
+    BulkTaskResponse create(Authentication auth, Long actorId, BulkCreateTaskRequest request);
+
+    BulkTaskResponse updateStatus(Authentication auth, Long actorId, BulkUpdateTaskStatusRequest request);
+
+    BulkTaskResponse assign(Authentication auth, Long actorId, BulkAssignTaskRequest request);
+}
@@ -0,0 +1,276 @@
+package com.chung.taskcrud.task.bulk.service.impl;
+
+import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.service.UserReferenceService;
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.log.entity.TaskLogEventType;
+import com.chung.taskcrud.log.helper.TaskLogHelper;
+import com.chung.taskcrud.notification.entity.NotificationType;
+import com.chung.taskcrud.notification.helper.NotificationHelper;
+import com.chung.taskcrud.task.bulk.dto.request.BulkAssignTaskRequest;
+import com.chung.taskcrud.task.bulk.dto.request.BulkCreateTaskRequest;
+import com.chung.taskcrud.task.bulk.dto.request.BulkUpdateTaskStatusRequest;
+import com.chung.taskcrud.task.bulk.dto.response.BulkTaskItemResult;
+import com.chung.taskcrud.task.bulk.dto.response.BulkTaskResponse;
+import com.chung.taskcrud.task.bulk.service.TaskBulkService;
+import com.chung.taskcrud.task.dto.request.CreateTaskRequest;
+import com.chung.taskcrud.task.entity.Tag;
+import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.entity.TaskPriority;
+import com.chung.taskcrud.task.entity.TaskStatus;
+import com.chung.taskcrud.task.helper.TaskFacetCache;
+import com.chung.taskcrud.task.helper.TaskTagHelper;
+import com.chung.taskcrud.task.repository.TaskRepository;
+import com.chung.taskcrud.task.security.TaskAuthorizationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create / đổi status / assign trong 1 transaction.
+ * - Lỗi nghiệp vụ của từng item (validation, not found, không có quyền) chỉ fail item đó
+ * - Task, log, notification được ghi bằng saveAll / dirty checking → Hibernate gom thành JDBC batch
+ *   (pooled id + hibernate.jdbc.batch_size, xem V4 migration)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TaskBulkServiceImpl implements TaskBulkService {
+
+    private static final int TITLE_MAX_LENGTH = 50;
+
+    private final TaskRepository taskRepository;
+    private final UserReferenceService userReferenceService;
+    private final TaskAuthorizationService authorizationService;
+
+    private final TaskTagHelper tagHelper;
+    private final TaskFacetCache facetCache;
+
+    private final NotificationHelper notificationHelper;
+    private final TaskLogHelper taskLogHelper;
+
+    @Value("${app.task-bulk.max-items:500}")
+    private int maxItems;
+
+    @Override
+    public BulkTaskResponse create(Authentication auth, Long actorId, BulkCreateTaskRequest request) {
+        List<CreateTaskRequest> items = request.getItems();
+        checkSize(items.size());
+
+        User creator = userReferenceService.getReferenceOrThrow(actorId);
+
+        // 1 query id cho mọi assignee (chỉ cần FK), 1 lần resolve cho hợp các tag
+        Set<Long> assigneeIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(CreateTaskRequest::getAssigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> assignees = userReferenceService.getReferences(assigneeIds);
+
+        Map<String, Tag> tags = tagHelper.resolveTagsByKey(items.stream()
+                .filter(i -> i != null && i.getTags() != null)
+                .flatMap(i -> i.getTags().stream())
+                .toList());
+
+        BulkTaskItemResult[] results = new BulkTaskItemResult[items.size()];
+        Map<Integer, Task> created = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            CreateTaskRequest item = items.get(i);
+            String title = (item != null && item.getTitle() != null) ? item.getTitle().trim() : "";
+
+            if (title.isEmpty()) {
+                results[i] = failed(i, null, new AppException(ErrorCode.VALIDATION_ERROR, "Title is required"));
+                continue;
+            }
+            if (title.length() > TITLE_MAX_LENGTH) {
+                results[i] = failed(i, null, new AppException(ErrorCode.VALIDATION_ERROR,
+                        "Title must be at most " + TITLE_MAX_LENGTH + " characters"));
+                continue;
+            }
+
+            User assignee = null;
+            if (item.getAssigneeId() != null) {
+                assignee = assignees.get(item.getAssigneeId());
+                if (assignee == null) {
+                    results[i] = failed(i, null, new AppException(ErrorCode.VALIDATION_ERROR, "User not found"));
+                    continue;
+                }
+            }
+
+            Task task = Task.builder()
+                    .title(title)
+                    .description(item.getDescription())
+                    .status(item.getStatus() != null ? item.getStatus() : TaskStatus.TODO)
+                    .priority(item.getPriority() != null ? item.getPriority() : TaskPriority.MEDIUM)
+                    .dueDate(item.getDueDate())
+                    .createdBy(creator)
+                    .assignee(assignee)
+                    .build();
+            task.setTags(tagHelper.selectTags(tags, item.getTags()));
+
+            created.put(i, task);
+        }
+
+        // id được cấp từ pool ngay lúc persist; INSERT thực sự gom batch lúc flush
+        List<Task> tasks = new ArrayList<>(created.values());
+        taskRepository.saveAll(tasks);
+        created.forEach((i, task) -> results[i] = succeeded(i, task.getId()));
+
+        notificationHelper.notifyTaskEvents(tasks, actorId, NotificationType.TASK_CREATED);
+        taskLogHelper.logBatch(tasks, actorId, TaskLogEventType.TASK_CREATED, null);
+        evictFacets(tasks, List.of());
+
+        return toResponse(results);
+    }
+
+    @Override
+    public BulkTaskResponse updateStatus(Authentication auth, Long actorId, BulkUpdateTaskStatusRequest request) {
+        List<Long> ids = request.getTaskIds();
+        checkSize(ids.size());
+
+        BulkTaskItemResult[] results = new BulkTaskItemResult[ids.size()];
+        List<Task> tasks = loadModifiable(auth, actorId, ids, results);
+
+        Map<Long, TaskStatus> oldStatus = new HashMap<>();
+        List<Task> changed = new ArrayList<>();
+        for (Task task : tasks) {
+            // status giữ nguyên → không notify, không log (giống logWithChanges bỏ qua khi không có change)
+            if (task.getStatus() == request.getStatus()) continue;
+
+            oldStatus.put(task.getId(), task.getStatus());
+            task.setStatus(request.getStatus());
+            changed.add(task);
+        }
+
+        // UPDATE do dirty checking lúc flush, cùng câu SQL nên được gom batch (order_updates)
+        notificationHelper.notifyTaskEvents(changed, actorId, NotificationType.TASK_STATUS_UPDATED);
+        taskLogHelper.logBatch(changed, actorId, TaskLogEventType.TASK_STATUS_UPDATED,
+                t -> taskLogHelper.change("status", oldStatus.get(t.getId()), t.getStatus()));
+        evictFacets(changed, List.of());
+
+        return toResponse(results);
+    }
+
+    @Override
+    public BulkTaskResponse assign(Authentication auth, Long actorId, BulkAssignTaskRequest request) {
+        List<Long> ids = request.getTaskIds();
+        checkSize(ids.size());
+
+        User assignee = userReferenceService.getReferenceOrThrow(request.getAssigneeId());
+
+        BulkTaskItemResult[] results = new BulkTaskItemResult[ids.size()];
+        List<Task> tasks = loadModifiable(auth, actorId, ids, results);
+
+        Map<Long, Long> oldAssigneeIds = new HashMap<>();
+        List<Task> changed = new ArrayList<>();
+        for (Task task : tasks) {
+            Long oldAssigneeId = (task.getAssignee() != null) ? task.getAssignee().getId() : null;
+            if (assignee.getId().equals(oldAssigneeId)) continue;
+
+            if (oldAssigneeId != null) oldAssigneeIds.put(task.getId(), oldAssigneeId);
+            task.setAssignee(assignee);
+            changed.add(task);
+        }
+
+        notificationHelper.notifyTaskEvents(changed, actorId, NotificationType.TASK_ASSIGNED);
+        taskLogHelper.logBatch(changed, actorId, TaskLogEventType.TASK_ASSIGNED,
+                t -> taskLogHelper.change("assigneeId", oldAssigneeIds.get(t.getId()), assignee.getId()));
+        evictFacets(changed, oldAssigneeIds.values());
+
+        return toResponse(results);
+    }
+
+    // 1 query IN cho cả lô, check quyền từng task; item không hợp lệ được ghi vào results ngay
+    private List<Task> loadModifiable(Authentication auth, Long actorId, List<Long> ids, BulkTaskItemResult[] results) {
+        Map<Long, Task> byId = taskRepository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .filter(t -> !t.isDeleted())
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Set<Long> seen = new HashSet<>();
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = failed(i, null, new AppException(ErrorCode.VALIDATION_ERROR, "Task id is required"));
+                continue;
+            }
+            if (!seen.add(id)) {
+                results[i] = failed(i, id, new AppException(ErrorCode.VALIDATION_ERROR, "Duplicate task id"));
+                continue;
+            }
+
+            Task task = byId.get(id);
+            if (task == null) {
+                results[i] = failed(i, id, new AppException(ErrorCode.TASK_NOT_FOUND));
+                continue;
+            }
+
+            try {
+                authorizationService.assertCanModify(auth, actorId, task);
+            } catch (AppException e) {
+                results[i] = failed(i, id, e);
+                continue;
+            }
+
+            tasks.add(task);
+            results[i] = succeeded(i, id);
+        }
+        return tasks;
+    }
+
+    private void checkSize(int size) {
+        if (size > maxItems) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "At most " + maxItems + " items per request");
+        }
+    }
+
+    private void evictFacets(List<Task> tasks, Collection<Long> extraUserIds) {
+        if (tasks.isEmpty()) return;
+
+        List<Long> userIds = new ArrayList<>(extraUserIds);
+        for (Task task : tasks) {
+            if (task.getCreatedBy() != null) userIds.add(task.getCreatedBy().getId());
+            if (task.getAssignee() != null) userIds.add(task.getAssignee().getId());
+        }
+        facetCache.evictAfterCommit(userIds);
+    }
+
+    private BulkTaskItemResult succeeded(int index, Long taskId) {
+        return BulkTaskItemResult.builder()
+                .index(index)
+                .taskId(taskId)
+                .success(true)
+                .build();
+    }
+
+    private BulkTaskItemResult failed(int index, Long taskId, AppException e) {
+        return BulkTaskItemResult.builder()
+                .index(index)
+                .taskId(taskId)
+                .success(false)
+                .errorCode(e.getErrorCode().getCode())
+                .message(e.getMessage())
+                .build();
+    }
+
+    private BulkTaskResponse toResponse(BulkTaskItemResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(BulkTaskItemResult::isSuccess).count();
+
+        return BulkTaskResponse.builder()
+                .total(results.length)
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .items(List.of(results))
+                .build();
+    }
+}
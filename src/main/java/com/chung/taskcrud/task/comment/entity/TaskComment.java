@@ -9,8 +9,7 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "task_comments", indexes = {
-        @Index(name = "idx_task_comment_task_id", columnList = "task_id"),
-        @Index(name = "idx_task_comment_deleted_at", columnList = "deleted_at")
+        @Index(name = "idx_task_comment_task_deleted_created", columnList = "task_id, deleted_at, created_at")
 })
 @Getter
 @Setter
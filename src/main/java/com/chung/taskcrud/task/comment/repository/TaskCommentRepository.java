@@ -1,10 +1,13 @@
 package com.chung.taskcrud.task.comment.repository;
 
 import com.chung.taskcrud.task.comment.entity.TaskComment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TaskCommentRepository extends JpaRepository<TaskComment, Long> {
@@ -12,4 +15,13 @@ public interface TaskCommentRepository extends JpaRepository<TaskComment, Long>
     Optional<TaskComment> findByIdAndDeletedAtIsNull(Long id);
 
     Page<TaskComment> findAllByTask_IdAndDeletedAtIsNull(Long taskId, Pageable pageable);
+
+    // Detail của task: author fetch cùng query (CommentMapper không lazy load từng author), không COUNT như Page
+    @Query("""
+        select c from TaskComment c
+        join fetch c.author
+        where c.task.id = :taskId and c.deletedAt is null
+        order by c.createdAt asc, c.id asc
+    """)
+    List<TaskComment> findWithAuthorByTaskId(Long taskId, Limit limit);
 }
@@ -1,7 +1,7 @@
 package com.chung.taskcrud.task.comment.service.impl;
 
 import com.chung.taskcrud.auth.entity.User;
-import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.auth.service.UserReferenceService;
 import com.chung.taskcrud.common.dto.response.PageResponse;
 import com.chung.taskcrud.common.exception.AppException;
 import com.chung.taskcrud.common.exception.ErrorCode;
@@ -14,8 +14,9 @@ import com.chung.taskcrud.task.comment.entity.TaskComment;
 import com.chung.taskcrud.task.comment.helper.CommentMapper;
 import com.chung.taskcrud.task.comment.repository.TaskCommentRepository;
 import com.chung.taskcrud.task.comment.service.TaskCommentService;
-import com.chung.taskcrud.task.entity.Task;
 import com.chung.taskcrud.task.repository.TaskRepository;
+import com.chung.taskcrud.task.repository.projection.TaskAccessView;
+import com.chung.taskcrud.task.security.TaskAccessLoader;
 import com.chung.taskcrud.task.security.TaskAuthorizationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -33,10 +34,11 @@ import java.util.List;
 public class TaskCommentServiceImpl implements TaskCommentService {
 
     private final TaskRepository taskRepository;
-    private final UserRepository userRepository;
+    private final UserReferenceService userReferenceService;
     private final TaskCommentRepository commentRepository;
 
     private final TaskAuthorizationService authorizationService;
+    private final TaskAccessLoader accessLoader;
 
     private final CommentMapper mapper;
 
@@ -44,13 +46,13 @@ public class TaskCommentServiceImpl implements TaskCommentService {
 
     @Override
     public CommentResponse create(Authentication auth, Long actorId, Long taskId, CreateCommentRequest request) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanModify(auth, actorId, task);
+        TaskAccessView task = accessLoader.requireModify(auth, actorId, taskId);
 
-        User author = getUserOrThrow(actorId);
+        User author = userReferenceService.getReferenceOrThrow(actorId);
 
+        // chỉ cần FK task_id: reference, không query lại task
         TaskComment comment = TaskComment.builder()
-                .task(task)
+                .task(taskRepository.getReferenceById(taskId))
                 .author(author)
                 .content(request.getContent().trim())
                 .build();
@@ -65,8 +67,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<CommentResponse> list(Authentication auth, Long actorId, Long taskId, Pageable pageable) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanView(auth, actorId, task);
+        accessLoader.requireView(auth, actorId, taskId);
 
         Page<TaskComment> page = commentRepository.findAllByTask_IdAndDeletedAtIsNull(taskId, pageable);
         List<CommentResponse> items = page.getContent().stream()
@@ -85,8 +86,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
     @Override
     @Transactional(readOnly = true)
     public CommentResponse detail(Authentication auth, Long actorId, Long taskId, Long commentId) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanView(auth, actorId, task);
+        accessLoader.requireView(auth, actorId, taskId);
 
         TaskComment comment = getCommentOrThrow(commentId);
         assertBelongsToTask(comment, taskId);
@@ -96,8 +96,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
 
     @Override
     public CommentResponse update(Authentication auth, Long actorId, Long taskId, Long commentId, UpdateCommentRequest request) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanModify(auth, actorId, task);
+        accessLoader.requireModify(auth, actorId, taskId);
 
         TaskComment comment = getCommentOrThrow(commentId);
         assertBelongsToTask(comment, taskId);
@@ -112,8 +111,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
 
     @Override
     public void delete(Authentication auth, Long actorId, Long taskId, Long commentId) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanDelete(auth, actorId, task);
+        accessLoader.requireDelete(auth, actorId, taskId);
 
         TaskComment comment = getCommentOrThrow(commentId);
         assertBelongsToTask(comment, taskId);
@@ -126,17 +124,6 @@ public class TaskCommentServiceImpl implements TaskCommentService {
         }
     }
 
-    private Task getTaskOrThrow(Long id) {
-        return taskRepository.findById(id)
-                .filter(t -> !t.isDeleted())
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
-    }
-
-    private User getUserOrThrow(Long id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.VALIDATION_ERROR, "User not found"));
-    }
-
     private TaskComment getCommentOrThrow(Long id) {
         return commentRepository.findByIdAndDeletedAtIsNull(id)
                 .orElseThrow(() -> new AppException(ErrorCode.COMMENT_NOT_FOUND));
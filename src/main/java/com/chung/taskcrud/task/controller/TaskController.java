@@ -1,15 +1,18 @@
 package com.chung.taskcrud.task.controller;
 
 import com.chung.taskcrud.common.dto.response.ApiResponse;
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
 import com.chung.taskcrud.common.dto.response.PageResponse;
 import com.chung.taskcrud.task.dto.request.AssignTaskRequest;
 import com.chung.taskcrud.task.dto.request.CreateTaskRequest;
 import com.chung.taskcrud.task.dto.request.UpdateTaskRequest;
 import com.chung.taskcrud.task.dto.request.UpdateTaskStatusRequest;
 import com.chung.taskcrud.task.dto.response.TaskDetailResponse;
+import com.chung.taskcrud.task.dto.response.TaskFacetsResponse;
 import com.chung.taskcrud.task.dto.response.TaskResponse;
 import com.chung.taskcrud.task.entity.TaskPriority;
 import com.chung.taskcrud.task.entity.TaskStatus;
+import com.chung.taskcrud.task.helper.TaskETagHelper;
 import com.chung.taskcrud.task.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,6 +29,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -40,7 +46,11 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
 
+    // client/proxy được giữ bản cache nhưng phải hỏi lại server (If-None-Match) trước khi dùng
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
+    private final TaskETagHelper etagHelper;
 
     private String traceId() {
         return UUID.randomUUID().toString();
@@ -201,7 +211,9 @@ public class TaskController {
                     - dueFrom, dueTo (yyyy-MM-dd)
                     - tag
                     - assigneeId
+                    Description chỉ là preview (tối đa 200 ký tự), xem đầy đủ ở API chi tiết.
                     Sort dạng: `field,asc|desc` (mặc định `createdAt,desc`)
+                    Hỗ trợ conditional GET: gửi lại `ETag` trong `If-None-Match` để nhận 304 khi danh sách không đổi.
                     """
     )
     @ApiResponses({
@@ -210,6 +222,11 @@ public class TaskController {
                     description = "Thành công",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Không thay đổi so với ETag trong If-None-Match",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "400",
                     description = "Query param không hợp lệ (ví dụ sai enum/status/priority, sai format date)",
@@ -248,6 +265,12 @@ public class TaskController {
             @Parameter(description = "Lọc theo assigneeId", example = "5", in = ParameterIn.QUERY)
             @RequestParam(required = false) Long assigneeId,
 
+            @Parameter(description = "Trả về preview description (cắt 200 ký tự); false để bỏ description", example = "true", in = ParameterIn.QUERY)
+            @RequestParam(defaultValue = "true") boolean includeDescription,
+
+            @Parameter(description = "ETag đã nhận ở lần gọi trước", in = ParameterIn.HEADER)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+
             HttpServletRequest http
     ) {
         Long actorId = (Long) authentication.getPrincipal();
@@ -259,15 +282,155 @@ public class TaskController {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(dir, sortField));
 
+        String etag = taskService.listETag(
+                authentication, actorId, status, priority, dueFrom, dueTo, tag, assigneeId, includeDescription, pageable
+        );
+        if (etagHelper.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
         PageResponse<TaskResponse> data = taskService.list(
-                authentication, actorId, status, priority, dueFrom, dueTo, tag, assigneeId, pageable
+                authentication, actorId, status, priority, dueFrom, dueTo, tag, assigneeId, includeDescription, pageable
+        );
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+
+    @Operation(
+            summary = "Danh sách task (cursor pagination + filter + sort)",
+            description = """
+                    Keyset pagination: không dùng OFFSET và không đếm tổng số bản ghi.
+                    - Lần đầu không truyền cursor, các lần sau truyền `nextCursor` của response trước
+                    - Filter giống `GET /api/tasks`
+                    - Sort chỉ hỗ trợ `createdAt` hoặc `updatedAt` (`field,asc|desc`, mặc định `createdAt,desc`),
+                      và phải giữ nguyên sort giữa các trang
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor không hợp lệ / không khớp sort, hoặc sort field không được hỗ trợ",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TaskResponse>>> listByCursor(
+            @Parameter(hidden = true) Authentication authentication,
+
+            @Parameter(description = "Cursor trả về từ trang trước (bỏ trống cho trang đầu)", in = ParameterIn.QUERY)
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Kích thước trang (tối đa 100)", example = "20", in = ParameterIn.QUERY)
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Sort: createdAt|updatedAt,asc|desc", example = "createdAt,desc", in = ParameterIn.QUERY)
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+
+            @Parameter(description = "Filter theo status", example = "OPEN", in = ParameterIn.QUERY)
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Filter theo priority", example = "HIGH", in = ParameterIn.QUERY)
+            @RequestParam(required = false) TaskPriority priority,
+
+            @Parameter(description = "Lọc dueDate từ ngày (yyyy-MM-dd)", example = "2026-01-01", in = ParameterIn.QUERY)
+            @RequestParam(required = false) LocalDate dueFrom,
+            @Parameter(description = "Lọc dueDate đến ngày (yyyy-MM-dd)", example = "2026-01-31", in = ParameterIn.QUERY)
+            @RequestParam(required = false) LocalDate dueTo,
+
+            @Parameter(description = "Lọc theo tag", example = "backend", in = ParameterIn.QUERY)
+            @RequestParam(required = false) String tag,
+            @Parameter(description = "Lọc theo assigneeId", example = "5", in = ParameterIn.QUERY)
+            @RequestParam(required = false) Long assigneeId,
+
+            @Parameter(description = "Trả về preview description (cắt 200 ký tự); false để bỏ description", example = "true", in = ParameterIn.QUERY)
+            @RequestParam(defaultValue = "true") boolean includeDescription,
+
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+
+        String[] parts = sort.split(",");
+        String sortField = parts[0];
+        Sort.Direction dir = (parts.length > 1 && parts[1].equalsIgnoreCase("asc"))
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        CursorPageResponse<TaskResponse> data = taskService.listByCursor(
+                authentication, actorId, status, priority, dueFrom, dueTo, tag, assigneeId, includeDescription,
+                cursor, size, Sort.by(dir, sortField)
+        );
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+
+    @Operation(
+            summary = "Facet counts của danh sách task",
+            description = """
+                    Đếm số task theo status, priority, top tag và top assignee trong cùng 1 request.
+                    - Filter và quyền xem giống `GET /api/tasks`
+                    - `top`: số tag/assignee trả về (mặc định 10, tối đa 50)
+                    - Kết quả được cache ngắn theo user và bị xoá khi task liên quan thay đổi
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<TaskFacetsResponse>> facets(
+            @Parameter(hidden = true) Authentication authentication,
+
+            @Parameter(description = "Filter theo status", example = "OPEN", in = ParameterIn.QUERY)
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Filter theo priority", example = "HIGH", in = ParameterIn.QUERY)
+            @RequestParam(required = false) TaskPriority priority,
+
+            @Parameter(description = "Lọc dueDate từ ngày (yyyy-MM-dd)", example = "2026-01-01", in = ParameterIn.QUERY)
+            @RequestParam(required = false) LocalDate dueFrom,
+            @Parameter(description = "Lọc dueDate đến ngày (yyyy-MM-dd)", example = "2026-01-31", in = ParameterIn.QUERY)
+            @RequestParam(required = false) LocalDate dueTo,
+
+            @Parameter(description = "Lọc theo tag", example = "backend", in = ParameterIn.QUERY)
+            @RequestParam(required = false) String tag,
+            @Parameter(description = "Lọc theo assigneeId", example = "5", in = ParameterIn.QUERY)
+            @RequestParam(required = false) Long assigneeId,
+
+            @Parameter(description = "Số tag/assignee top trả về", example = "10", in = ParameterIn.QUERY)
+            @RequestParam(defaultValue = "10") int top,
+
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+
+        TaskFacetsResponse data = taskService.facets(
+                authentication, actorId, status, priority, dueFrom, dueTo, tag, assigneeId, top
         );
         return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
     }
 
     @Operation(
             summary = "Chi tiết task",
-            description = "Lấy chi tiết task theo ID."
+            description = """
+                    Lấy chi tiết task theo ID.
+                    Hỗ trợ conditional GET: gửi lại `ETag` trong `If-None-Match` để nhận 304
+                    khi task, subtask và comment đều không đổi.
+                    """
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -275,6 +438,11 @@ public class TaskController {
                     description = "Thành công",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Không thay đổi so với ETag trong If-None-Match",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "401",
                     description = "Chưa đăng nhập / token không hợp lệ",
@@ -291,11 +459,23 @@ public class TaskController {
             @Parameter(hidden = true) Authentication authentication,
             @Parameter(description = "Task ID", example = "100")
             @PathVariable Long id,
+            @Parameter(description = "ETag đã nhận ở lần gọi trước", in = ParameterIn.HEADER)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             HttpServletRequest http
     ) {
         Long actorId = (Long) authentication.getPrincipal();
+
+        // validator rẻ (1 query) trước, chỉ build response khi thực sự thay đổi
+        String etag = taskService.detailETag(authentication, actorId, id);
+        if (etagHelper.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
         TaskDetailResponse data = taskService.detail(authentication, actorId, id);
-        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(ApiResponse.success(data, http.getRequestURI(), traceId()));
     }
 
     @Operation(
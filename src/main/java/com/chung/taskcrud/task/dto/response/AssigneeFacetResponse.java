@@ -0,0 +1,15 @@
+package com.chung.taskcrud.task.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssigneeFacetResponse {
+    // null = task chưa được assign
+    private Long assigneeId;
+    private String assigneeEmail;
+    private long count;
+}
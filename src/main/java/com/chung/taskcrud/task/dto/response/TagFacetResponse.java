@@ -0,0 +1,13 @@
+package com.chung.taskcrud.task.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagFacetResponse {
+    private String name;
+    private long count;
+}
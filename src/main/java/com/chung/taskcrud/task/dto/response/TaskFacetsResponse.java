@@ -0,0 +1,24 @@
+package com.chung.taskcrud.task.dto.response;
+
+import com.chung.taskcrud.task.entity.TaskPriority;
+import com.chung.taskcrud.task.entity.TaskStatus;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskFacetsResponse {
+
+    // đủ mọi giá trị enum, không có task thì = 0
+    private Map<TaskStatus, Long> status;
+    private Map<TaskPriority, Long> priority;
+
+    // top-N theo count giảm dần
+    private List<TagFacetResponse> tags;
+    private List<AssigneeFacetResponse> assignees;
+}
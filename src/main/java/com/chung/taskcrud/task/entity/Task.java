@@ -14,7 +14,13 @@ import java.util.Set;
         @Index(name = "idx_task_status", columnList = "status"),
         @Index(name = "idx_task_priority", columnList = "priority"),
         @Index(name = "idx_task_due_date", columnList = "dueDate"),
-        @Index(name = "idx_task_deleted_at", columnList = "deletedAt")
+        // phục vụ 2 nhánh visibility (createdBy / assignee) và list của admin, xem V2 migration
+        @Index(name = "idx_task_creator_deleted_created", columnList = "created_by_id, deletedAt, createdAt"),
+        @Index(name = "idx_task_assignee_deleted_created", columnList = "assignee_id, deletedAt, createdAt"),
+        @Index(name = "idx_task_deleted_created", columnList = "deletedAt, createdAt"),
+        // 2 nhánh visibility sort theo id, xem V10 migration
+        @Index(name = "idx_task_creator_deleted_id", columnList = "created_by_id, deletedAt, id"),
+        @Index(name = "idx_task_assignee_deleted_id", columnList = "assignee_id, deletedAt, id")
 })
 @Getter
 @Setter
@@ -24,7 +30,16 @@ import java.util.Set;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled id (không dùng IDENTITY) để Hibernate gom INSERT thành JDBC batch, xem V4 migration
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tasks_id")
+    @TableGenerator(
+            name = "tasks_id",
+            table = "id_generators",
+            pkColumnName = "name",
+            valueColumnName = "next_val",
+            pkColumnValue = "tasks",
+            allocationSize = 50
+    )
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -55,7 +70,8 @@ public class Task {
     @JoinTable(
             name = "task_tags",
             joinColumns = @JoinColumn(name="task_id"),
-            inverseJoinColumns = @JoinColumn(name="tag_id")
+            inverseJoinColumns = @JoinColumn(name="tag_id"),
+            indexes = @Index(name = "idx_task_tags_task_tag", columnList = "task_id, tag_id")
     )
     @Builder.Default
     private Set<Tag> tags = new HashSet<>();
@@ -0,0 +1,83 @@
+package com.chung.taskcrud.task.helper;
+
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.task.dto.response.TaskResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Encode/decode opaque cursor cho keyset pagination của task list.
+ * Cursor = base64url("field|direction|sortValue|id") của phần tử cuối trang trước.
+ */
+@Component
+public class TaskCursorHelper {
+
+    private static final String SEPARATOR = "|";
+    private static final Set<String> SORT_FIELDS = Set.of("createdAt", "updatedAt");
+
+    public Sort.Order resolveOrder(Sort sort) {
+        Sort.Order order = sort.stream().findFirst()
+                .orElse(Sort.Order.desc("createdAt"));
+
+        if (!SORT_FIELDS.contains(order.getProperty())) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR,
+                    "Cursor pagination only supports sort by " + String.join(", ", SORT_FIELDS));
+        }
+        return order;
+    }
+
+    public String encode(Sort.Order order, TaskResponse last) {
+        Instant value = sortValue(order.getProperty(), last);
+        String raw = order.getProperty() + SEPARATOR + order.getDirection().name()
+                + SEPARATOR + value + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public TaskCursor decode(String cursor, Sort.Order order) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 4) throw invalidCursor();
+
+            // cursor phải được sinh ra từ cùng sort, nếu không thứ tự seek sẽ sai
+            if (!parts[0].equals(order.getProperty()) || !parts[1].equals(order.getDirection().name())) {
+                throw new AppException(ErrorCode.VALIDATION_ERROR, "Cursor does not match current sort");
+            }
+
+            return new TaskCursor(parts[0], order.getDirection(), Instant.parse(parts[2]), Long.valueOf(parts[3]));
+        } catch (AppException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private Instant sortValue(String field, TaskResponse task) {
+        return switch (field) {
+            case "updatedAt" -> task.getUpdatedAt();
+            default -> task.getCreatedAt();
+        };
+    }
+
+    private AppException invalidCursor() {
+        return new AppException(ErrorCode.VALIDATION_ERROR, "Invalid cursor");
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class TaskCursor {
+        private final String field;
+        private final Sort.Direction direction;
+        private final Instant value;
+        private final Long id;
+    }
+}
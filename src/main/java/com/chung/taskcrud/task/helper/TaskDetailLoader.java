@@ -0,0 +1,148 @@
+package com.chung.taskcrud.task.helper;
+
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.task.comment.dto.response.CommentResponse;
+import com.chung.taskcrud.task.comment.helper.CommentMapper;
+import com.chung.taskcrud.task.comment.repository.TaskCommentRepository;
+import com.chung.taskcrud.task.dto.response.TaskDetailResponse;
+import com.chung.taskcrud.task.dto.response.TaskResponse;
+import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.repository.TaskRepository;
+import com.chung.taskcrud.task.subtask.dto.response.SubtaskResponse;
+import com.chung.taskcrud.task.subtask.helper.SubtaskMapper;
+import com.chung.taskcrud.task.subtask.repository.SubtaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Load TaskDetailResponse: task + check quyền trước, sau đó subtasks và comments song song
+ * → latency ~ task + max(subtasks, comments) thay vì tổng cả 3. Task không tồn tại / không có quyền thì dừng
+ * ở query đầu, không mở thêm query hay connection nào.
+ * Mỗi query chạy trong 1 transaction read-only riêng và map sang DTO ngay trong transaction đó.
+ * Caller không được giữ transaction khi gọi: nếu giữ 1 connection trong lúc chờ 2 connection nữa
+ * thì tải cao có thể làm cạn pool.
+ * Latency ghi vào timer tasks.detail.load.duration; app.task-detail.parallel-load=false chạy cùng 3 query
+ * theo thứ tự task → subtasks → comments trên thread gọi, để so sánh song song / tuần tự trên cùng dữ liệu.
+ */
+@Component
+public class TaskDetailLoader {
+
+    private static final int COMMENT_LIMIT = 50;
+
+    private final TaskRepository taskRepository;
+    private final SubtaskRepository subtaskRepository;
+    private final TaskCommentRepository commentRepository;
+
+    private final TaskMapper taskMapper;
+    private final SubtaskMapper subtaskMapper;
+    private final CommentMapper commentMapper;
+
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService executor;
+    private final boolean parallelLoad;
+    private final Timer loadTimer;
+
+    public TaskDetailLoader(
+            TaskRepository taskRepository,
+            SubtaskRepository subtaskRepository,
+            TaskCommentRepository commentRepository,
+            TaskMapper taskMapper,
+            SubtaskMapper subtaskMapper,
+            CommentMapper commentMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("virtualThreadExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${app.task-detail.parallel-load:true}") boolean parallelLoad
+    ) {
+        this.taskRepository = taskRepository;
+        this.subtaskRepository = subtaskRepository;
+        this.commentRepository = commentRepository;
+        this.taskMapper = taskMapper;
+        this.subtaskMapper = subtaskMapper;
+        this.commentMapper = commentMapper;
+        this.executor = executor;
+        this.parallelLoad = parallelLoad;
+        this.loadTimer = Timer.builder("tasks.detail.load.duration")
+                .tag("mode", parallelLoad ? "parallel" : "sequential")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // authorize chạy ngay khi có task; fail thì không query subtask/comment
+    public TaskDetailResponse load(Long taskId, Consumer<Task> authorize) {
+        return loadTimer.record(() -> doLoad(taskId, authorize));
+    }
+
+    private TaskDetailResponse doLoad(Long taskId, Consumer<Task> authorize) {
+        TaskResponse task = readOnly(() -> {
+            Task t = taskRepository.findWithDetailsById(taskId)
+                    .filter(x -> !x.isDeleted())
+                    .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+            authorize.accept(t);
+            return taskMapper.toResponse(t);
+        });
+
+        List<SubtaskResponse> subtasks;
+        List<CommentResponse> comments;
+        if (parallelLoad) {
+            // subtasks trên virtual thread, comments trên thread gọi: tối đa 2 connection cùng lúc
+            CompletableFuture<List<SubtaskResponse>> pending =
+                    CompletableFuture.supplyAsync(() -> readOnly(() -> loadSubtasks(taskId)), executor);
+            comments = readOnly(() -> loadComments(taskId));
+            subtasks = join(pending);
+        } else {
+            subtasks = readOnly(() -> loadSubtasks(taskId));
+            comments = readOnly(() -> loadComments(taskId));
+        }
+
+        return TaskDetailResponse.builder()
+                .task(task)
+                .subtasks(subtasks)
+                .comments(comments)
+                .build();
+    }
+
+    private List<SubtaskResponse> loadSubtasks(Long taskId) {
+        return subtaskRepository.findAllByTask_IdAndDeletedAtIsNull(taskId)
+                .stream()
+                .map(subtaskMapper::toResponse)
+                .toList();
+    }
+
+    private List<CommentResponse> loadComments(Long taskId) {
+        return commentRepository.findWithAuthorByTaskId(taskId, Limit.of(COMMENT_LIMIT))
+                .stream()
+                .map(commentMapper::toResponse)
+                .toList();
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        return readOnlyTx.execute(status -> query.get());
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.chung.taskcrud.task.helper;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Component
+public class TaskETagHelper {
+
+    // strong ETag: hash của các thành phần version (không lộ id/timestamp ra header)
+    public String etag(Object... parts) {
+        String raw = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // If-None-Match dùng weak comparison (RFC 9110): bỏ prefix W/ trước khi so sánh
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+}
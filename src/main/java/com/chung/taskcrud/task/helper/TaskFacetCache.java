@@ -0,0 +1,100 @@
+package com.chung.taskcrud.task.helper;
+
+import com.chung.taskcrud.task.dto.response.TaskFacetsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache in-memory cho GET /api/tasks/facets.
+ * - User thường: cache theo userId + filter, bị evict khi task user đó thấy (creator/assignee) thay đổi.
+ * - Admin thấy mọi task nên dùng chung 1 scope, bị evict ở mọi mutation.
+ * TTL giới hạn độ stale cho thay đổi từ node khác.
+ */
+@Component
+public class TaskFacetCache {
+
+    private static final int MAX_KEYS_PER_SCOPE = 32;
+    private static final int MAX_USERS = 10_000;
+
+    private final long ttlMillis;
+
+    private final Map<Long, Map<String, Entry>> byUser = new ConcurrentHashMap<>();
+    private final Map<String, Entry> adminScope = new ConcurrentHashMap<>();
+
+    // generation tăng mỗi lần evict: kết quả tính từ generation cũ sẽ không được put vào cache
+    private final Map<Long, AtomicLong> userGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong adminGeneration = new AtomicLong();
+
+    public TaskFacetCache(@Value("${app.task-facets.cache-ttl-seconds:60}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public TaskFacetsResponse get(Long userId, boolean admin, String key) {
+        Map<String, Entry> scope = admin ? adminScope : byUser.get(userId);
+        if (scope == null) return null;
+
+        Entry e = scope.get(key);
+        if (e == null) return null;
+        if (System.currentTimeMillis() - e.createdAt > ttlMillis) {
+            scope.remove(key, e);
+            return null;
+        }
+        return e.value;
+    }
+
+    public long generation(Long userId, boolean admin) {
+        return admin
+                ? adminGeneration.get()
+                : userGenerations.computeIfAbsent(userId, id -> new AtomicLong()).get();
+    }
+
+    public void put(Long userId, boolean admin, String key, long generation, TaskFacetsResponse value) {
+        if (generation(userId, admin) != generation) return;
+
+        if (!admin && byUser.size() >= MAX_USERS && !byUser.containsKey(userId)) {
+            byUser.clear();
+        }
+
+        Map<String, Entry> scope = admin ? adminScope : byUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+        if (scope.size() >= MAX_KEYS_PER_SCOPE) scope.clear();
+        scope.put(key, new Entry(value, System.currentTimeMillis()));
+    }
+
+    // Evict sau khi transaction commit, tránh request đọc song song nạp lại dữ liệu cũ
+    public void evictAfterCommit(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userIds);
+                }
+            });
+        } else {
+            evict(userIds);
+        }
+    }
+
+    private void evict(Collection<Long> userIds) {
+        adminGeneration.incrementAndGet();
+        adminScope.clear();
+
+        userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(id -> {
+                    userGenerations.computeIfAbsent(id, k -> new AtomicLong()).incrementAndGet();
+                    byUser.remove(id);
+                });
+    }
+
+    private record Entry(TaskFacetsResponse value, long createdAt) {
+    }
+}
@@ -3,6 +3,7 @@ package com.chung.taskcrud.task.helper;
 import com.chung.taskcrud.task.dto.response.TaskResponse;
 import com.chung.taskcrud.task.entity.Tag;
 import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.repository.projection.TaskListView;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -36,4 +37,22 @@ public class TaskMapper {
                 .updatedAt(task.getUpdatedAt())
                 .build();
     }
+
+    public TaskResponse toResponse(TaskListView view, List<String> tags, boolean includeDescription) {
+        return TaskResponse.builder()
+                .id(view.getId())
+                .title(view.getTitle())
+                .description(includeDescription ? view.getDescription() : null)
+                .status(view.getStatus())
+                .priority(view.getPriority())
+                .dueDate(view.getDueDate())
+                .createdById(view.getCreatedById())
+                .createdByEmail(view.getCreatedByEmail())
+                .assigneeId(view.getAssigneeId())
+                .assigneeEmail(view.getAssigneeEmail())
+                .tags(tags == null ? List.of() : tags.stream().sorted().toList())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
 }
@@ -13,11 +13,18 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 public class TaskQueryHelper {
 
+    // merge in-memory chỉ khớp ORDER BY của DB với các cột này (xem TaskRepositoryCustomImpl)
+    private static final Set<String> MERGEABLE_SORT_FIELDS = Set.of("id", "createdAt", "updatedAt");
+    // mỗi branch đọc (offset + size) row về app: trang sâu hơn thì để DB tự OFFSET trên 1 query
+    private static final int MAX_MERGED_WINDOW = 1_000;
+
     private final TaskAuthorizationService authorizationService;
 
     public Specification<Task> buildSpec(
@@ -30,12 +37,76 @@ public class TaskQueryHelper {
             String tag,
             Long assigneeId
     ) {
-        Specification<Task> spec = Specification.where(TaskSpecifications.notDeleted());
+        Specification<Task> spec = buildFilters(status, priority, dueFrom, dueTo, tag, assigneeId);
 
         if (!authorizationService.isSystemAdmin(auth)) {
             spec = spec.and(TaskSpecifications.visibleTo(actorId));
         }
 
+        return spec;
+    }
+
+    /**
+     * Cùng filter với buildSpec, nhưng với user thường thì visibility được tách thành
+     * 2 spec rời nhau (createdBy / assignee) thay cho predicate OR, để repository chạy
+     * từng nhánh trên index riêng rồi merge. Admin chỉ có 1 spec.
+     */
+    public List<Specification<Task>> buildVisibleBranches(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId
+    ) {
+        Specification<Task> filters = buildFilters(status, priority, dueFrom, dueTo, tag, assigneeId);
+
+        if (authorizationService.isSystemAdmin(auth)) {
+            return List.of(filters);
+        }
+
+        return List.of(
+                filters.and(TaskSpecifications.createdBy(actorId)),
+                filters.and(TaskSpecifications.assignedToOthersTask(actorId))
+        );
+    }
+
+    /**
+     * Cho list theo page: dùng buildVisibleBranches khi merge được, còn lại (sort theo field khác,
+     * trang sâu) trả về 1 spec duy nhất của buildSpec để repository chạy 1 query OR.
+     */
+    public List<Specification<Task>> buildPageBranches(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId,
+            Pageable pageable
+    ) {
+        boolean mergeable = pageable.getOffset() + pageable.getPageSize() <= MAX_MERGED_WINDOW
+                && pageable.getSort().stream().allMatch(o -> MERGEABLE_SORT_FIELDS.contains(o.getProperty()));
+
+        if (!mergeable) {
+            return List.of(buildSpec(auth, actorId, status, priority, dueFrom, dueTo, tag, assigneeId));
+        }
+        return buildVisibleBranches(auth, actorId, status, priority, dueFrom, dueTo, tag, assigneeId);
+    }
+
+    private Specification<Task> buildFilters(
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId
+    ) {
+        Specification<Task> spec = Specification.where(TaskSpecifications.notDeleted());
+
         if (status != null) spec = spec.and(TaskSpecifications.statusEquals(status));
         if (priority != null) spec = spec.and(TaskSpecifications.priorityEquals(priority));
         if (dueFrom != null || dueTo != null) spec = spec.and(TaskSpecifications.dueBetween(dueFrom, dueTo));
@@ -2,38 +2,181 @@ package com.chung.taskcrud.task.helper;
 
 import com.chung.taskcrud.task.entity.Tag;
 import com.chung.taskcrud.task.repository.TagRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class TaskTagHelper {
 
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
     private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    // tạo tag mới trong transaction riêng, xem createMissing
+    private final TransactionTemplate createTx;
+
+    // name (lower-case, khớp collation case-insensitive của MySQL) -> tag id, LRU có giới hạn
+    private final Map<String, Long> idCache;
+
+    public TaskTagHelper(
+            TagRepository tagRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.tag-cache.max-size:10000}") int maxCacheSize
+    ) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.createTx = new TransactionTemplate(transactionManager);
+        this.createTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.idCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxCacheSize;
+            }
+        });
+    }
 
     public Set<Tag> resolveTags(List<String> tagNames) {
+        return new HashSet<>(resolveTagsByKey(tagNames).values());
+    }
+
+    // Bulk: resolve hợp các tag của nhiều task 1 lần, rồi lấy tag từng task bằng selectTags
+    public Map<String, Tag> resolveTagsByKey(Collection<String> tagNames) {
         if(tagNames == null) {
-            return new HashSet<>();
+            return new HashMap<>();
         }
 
+        // giữ tên đầu tiên cho mỗi key, bỏ trùng không phân biệt hoa thường
+        Map<String, String> names = new LinkedHashMap<>();
+        tagNames.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .forEach(s -> names.putIfAbsent(key(s), s));
+
+        if (names.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<String, Long> ids = resolveIds(names);
+
+        Map<String, Tag> tags = new HashMap<>();
+        ids.forEach((k, id) -> tags.put(k, tagRepository.getReferenceById(id)));
+        return tags;
+    }
+
+    public Set<Tag> selectTags(Map<String, Tag> resolved, List<String> tagNames) {
+        if (tagNames == null) {
+            return new HashSet<>();
+        }
         return tagNames.stream()
                 .filter(Objects::nonNull)
                 .map(String::trim)
                 .filter(s -> !s.isEmpty())
-                .map(this::upsertTag)
+                .map(s -> resolved.get(key(s)))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
     }
 
-    private Tag upsertTag(String name) {
-        return tagRepository.findByName(name)
-                .orElseGet(() -> tagRepository.save(Tag.builder()
-                                .name(name)
-                        .build()));
+    private Map<String, Long> resolveIds(Map<String, String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        Map<String, String> missing = new TreeMap<>();
+
+        names.forEach((k, name) -> {
+            Long id = idCache.get(k);
+            if (id != null) ids.put(k, id);
+            else missing.put(k, name);
+        });
+        if (missing.isEmpty()) return ids;
+
+        Map<String, Long> resolved = new HashMap<>();
+
+        // 1 query IN cho các tag đã có
+        loadExisting(missing, resolved);
+        if (!missing.isEmpty()) createMissing(missing, resolved);
+
+        ids.putAll(resolved);
+        // đều là row đã commit (có sẵn, hoặc vừa tạo trong transaction riêng): rollback của request không làm cache sai
+        idCache.putAll(resolved);
+        return ids;
+    }
+
+    // Transaction riêng, ngắn: insert + đọc lại chỉ khoá row tags trong lúc đó. Race với request khác
+    // (deadlock / lock wait timeout / trùng unique key) chỉ rollback transaction này nên chạy lại được,
+    // transaction của request vẫn nguyên vẹn
+    private void createMissing(Map<String, String> missing, Map<String, Long> resolved) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Map<String, Long> created = createTx.execute(status -> insertAndRead(missing));
+                created.forEach((k, id) -> {
+                    missing.remove(k);
+                    resolved.put(k, id);
+                });
+                return;
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= MAX_CREATE_ATTEMPTS) throw e;
+            }
+        }
+    }
+
+    private Map<String, Long> insertAndRead(Map<String, String> missing) {
+        // 1 multi-row insert cho tag mới; trùng unique key (race với request khác) thì bỏ qua
+        insertIgnoringDuplicates(missing.values());
+
+        Map<String, String> pending = new TreeMap<>(missing);
+        Map<String, Long> created = new HashMap<>();
+
+        // snapshot của transaction mới bắt đầu sau insert: đọc thường đã thấy tag do transaction khác commit
+        String in = pending.values().stream().map(n -> "?").collect(Collectors.joining(","));
+        jdbcTemplate.query(
+                "select id, name from tags where name in (" + in + ")",
+                rs -> { put(pending, created, rs.getString("name"), rs.getLong("id")); },
+                pending.values().toArray()
+        );
+
+        // tên "bằng nhau" theo collation nhưng khác lower-case (vd dấu) -> fallback từng tên
+        for (var entry : pending.entrySet()) {
+            jdbcTemplate.query(
+                    "select id from tags where name = ?",
+                    rs -> { created.put(entry.getKey(), rs.getLong("id")); },
+                    entry.getValue()
+            );
+        }
+        return created;
+    }
+
+    private void loadExisting(Map<String, String> missing, Map<String, Long> resolved) {
+        for (Tag tag : tagRepository.findAllByNameIn(missing.values())) {
+            put(missing, resolved, tag.getName(), tag.getId());
+        }
+    }
+
+    private void put(Map<String, String> missing, Map<String, Long> resolved, String name, Long id) {
+        String k = key(name);
+        if (missing.remove(k) != null) {
+            resolved.put(k, id);
+        }
+    }
+
+    private void insertIgnoringDuplicates(Collection<String> names) {
+        // names đã sort (TreeMap) để các transaction insert theo cùng thứ tự, tránh deadlock
+        String values = names.stream().map(n -> "(?)").collect(Collectors.joining(","));
+        jdbcTemplate.update(
+                "insert into tags (name) values " + values + " on duplicate key update name = name",
+                names.toArray()
+        );
+    }
+
+    private String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 }
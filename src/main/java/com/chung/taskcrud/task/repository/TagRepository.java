@@ -3,8 +3,12 @@ package com.chung.taskcrud.task.repository;
 import com.chung.taskcrud.task.entity.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByName(String name);
+
+    List<Tag> findAllByNameIn(Collection<String> names);
 }
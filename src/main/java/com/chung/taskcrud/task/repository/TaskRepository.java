@@ -1,15 +1,85 @@
 package com.chung.taskcrud.task.repository;
 
 import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.repository.projection.TaskAccessView;
+import com.chung.taskcrud.task.repository.projection.TaskListView;
+import com.chung.taskcrud.task.repository.projection.TaskTagView;
+import com.chung.taskcrud.task.repository.projection.TaskVersionView;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
     @EntityGraph(attributePaths = {"createdBy", "assignee", "tags"})
     List<Task> findAll(Specification<Task> spec);
+
+    // Detail: task + creator/assignee/tags trong 1 query
+    @EntityGraph(attributePaths = {"createdBy", "assignee", "tags"})
+    Optional<Task> findWithDetailsById(Long id);
+
+    // Phase 2 của list dạng projection: chỉ đọc cột cần cho TaskResponse, description cắt còn preview
+    @Query("""
+        select t.id as id,
+               t.title as title,
+               substring(t.description, 1, :previewLength) as description,
+               t.status as status,
+               t.priority as priority,
+               t.dueDate as dueDate,
+               c.id as createdById,
+               c.email as createdByEmail,
+               a.id as assigneeId,
+               a.email as assigneeEmail,
+               t.createdAt as createdAt,
+               t.updatedAt as updatedAt
+        from Task t
+        join t.createdBy c
+        left join t.assignee a
+        where t.id in :ids
+    """)
+    List<TaskListView> findListViewsByIdIn(Collection<Long> ids, int previewLength);
+
+    @Query("""
+        select t.id as taskId, g.name as name
+        from Task t
+        join t.tags g
+        where t.id in :ids
+    """)
+    List<TaskTagView> findTagNamesByTaskIdIn(Collection<Long> ids);
+
+    // Validator cho ETag của detail: 1 query, không load entity.
+    // Subtask/comment bị soft delete cũng bump updatedAt (@PreUpdate) nên max tính trên mọi row, kể cả đã xoá
+    @Query("""
+        select c.id as createdById,
+               a.id as assigneeId,
+               t.updatedAt as updatedAt,
+               c.updatedAt as createdByUpdatedAt,
+               a.updatedAt as assigneeUpdatedAt,
+               (select max(s.updatedAt) from Subtask s where s.task.id = t.id) as subtasksUpdatedAt,
+               (select max(m.updatedAt) from TaskComment m where m.task.id = t.id) as commentsUpdatedAt
+        from Task t
+        join t.createdBy c
+        left join t.assignee a
+        where t.id = :id and t.deletedAt is null
+    """)
+    Optional<TaskVersionView> findVersionById(Long id);
+
+    // Check quyền cho subtask/comment/log: 1 query PK, creator/assignee đọc thẳng từ cột FK (không join / load users).
+    // Kể cả task đã xoá, caller tự lọc
+    @Query("""
+        select t.id as id,
+               t.title as title,
+               t.createdBy.id as createdById,
+               t.assignee.id as assigneeId,
+               t.deletedAt as deletedAt
+        from Task t
+        where t.id = :id
+    """)
+    Optional<TaskAccessView> findAccessViewById(Long id);
 }
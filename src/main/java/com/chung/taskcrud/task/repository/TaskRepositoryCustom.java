@@ -0,0 +1,38 @@
+package com.chung.taskcrud.task.repository;
+
+import com.chung.taskcrud.task.entity.Task;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    // Phase 1 của list: chỉ lấy id theo spec + paging, row load sau bằng findListViewsByIdIn
+    Page<Long> findIds(Specification<Task> spec, Pageable pageable);
+
+    List<Long> findIds(Specification<Task> spec, Sort sort, int limit);
+
+    // Giống findIds nhưng mỗi branch chạy thành 1 query riêng rồi merge theo sort (UNION ALL ở tầng app).
+    // Các branch phải rời nhau (không trùng task) để merge/count không cần dedupe.
+    // Chỉ sort theo id / createdAt / updatedAt (IllegalArgumentException nếu khác).
+    Page<Long> findIdsMerged(List<Specification<Task>> branches, Pageable pageable);
+
+    List<Long> findIdsMerged(List<Specification<Task>> branches, Sort sort, int limit);
+
+    // Facet: group by + count distinct task theo spec. Tuple alias: "key", ("label"), "count"
+    List<Tuple> countByStatus(Specification<Task> spec);
+
+    List<Tuple> countByPriority(Specification<Task> spec);
+
+    List<Tuple> countTopTags(Specification<Task> spec, int limit);
+
+    List<Tuple> countTopAssignees(Specification<Task> spec, int limit);
+
+    // Validator cho ETag của list: 1 query aggregate,
+    // Tuple alias "count", "maxUpdatedAt", "maxCreatorUpdatedAt", "maxAssigneeUpdatedAt"
+    Tuple countAndMaxUpdatedAt(Specification<Task> spec);
+}
@@ -0,0 +1,227 @@
+package com.chung.taskcrud.task.repository;
+
+import com.chung.taskcrud.task.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String ID = "id";
+    // sort theo string / enum phụ thuộc collation và cách lưu cột, không merge in-memory được
+    private static final Set<String> MERGEABLE_SORT_PROPERTIES = Set.of(ID, "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<Long> findIds(Specification<Task> spec, Pageable pageable) {
+        List<Long> ids = toIds(selectRows(spec, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize()));
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Task> spec, Sort sort, int limit) {
+        return toIds(selectRows(spec, sort, 0, limit));
+    }
+
+    @Override
+    public Page<Long> findIdsMerged(List<Specification<Task>> branches, Pageable pageable) {
+        if (branches.size() == 1) return findIds(branches.get(0), pageable);
+
+        List<Long> ids = mergeIds(branches, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(ids, pageable,
+                () -> branches.stream().mapToLong(this::count).sum());
+    }
+
+    @Override
+    public List<Long> findIdsMerged(List<Specification<Task>> branches, Sort sort, int limit) {
+        if (branches.size() == 1) return findIds(branches.get(0), sort, limit);
+        return mergeIds(branches, sort, 0, limit);
+    }
+
+    private List<Long> mergeIds(List<Specification<Task>> branches, Sort sort, int offset, int limit) {
+        for (Sort.Order order : sort) {
+            if (!MERGEABLE_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot merge branches sorted by " + order.getProperty());
+            }
+        }
+        Sort stable = withIdTieBreaker(sort);
+
+        // mỗi branch chỉ cần top (offset + limit) theo index riêng của nó
+        List<Tuple> rows = new ArrayList<>();
+        for (Specification<Task> branch : branches) {
+            rows.addAll(selectRows(branch, stable, 0, offset + limit));
+        }
+        rows.sort(comparator(stable));
+
+        return toIds(rows.stream().skip(offset).limit(limit).toList());
+    }
+
+    @Override
+    public List<Tuple> countByStatus(Specification<Task> spec) {
+        return countGrouped(spec, root -> List.of(root.get("status")), null);
+    }
+
+    @Override
+    public List<Tuple> countByPriority(Specification<Task> spec) {
+        return countGrouped(spec, root -> List.of(root.get("priority")), null);
+    }
+
+    @Override
+    public List<Tuple> countTopTags(Specification<Task> spec, int limit) {
+        return countGrouped(spec, root -> List.of(root.join("tags").get("name")), limit);
+    }
+
+    @Override
+    public List<Tuple> countTopAssignees(Specification<Task> spec, int limit) {
+        return countGrouped(spec, root -> {
+            var assignee = root.join("assignee", JoinType.LEFT);
+            return List.of(assignee.get("id"), assignee.get("email"));
+        }, limit);
+    }
+
+    @Override
+    public Tuple countAndMaxUpdatedAt(Specification<Task> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+
+        Expression<Long> count = query.isDistinct() ? cb.countDistinct(root) : cb.count(root);
+        // response có email creator/assignee: đổi email (bump users.updatedAt) cũng phải đổi ETag.
+        // Join to-one riêng, không nhân số row nên count không đổi
+        var creator = root.join("createdBy", JoinType.INNER);
+        var assignee = root.join("assignee", JoinType.LEFT);
+        query.select(cb.tuple(
+                count.alias("count"),
+                cb.greatest(root.<Instant>get("updatedAt")).alias("maxUpdatedAt"),
+                cb.greatest(creator.<Instant>get("updatedAt")).alias("maxCreatorUpdatedAt"),
+                cb.greatest(assignee.<Instant>get("updatedAt")).alias("maxAssigneeUpdatedAt")
+        ));
+        query.distinct(false);
+
+        return em.createQuery(query).getSingleResult();
+    }
+
+    // keys[0] -> "key", keys[1] -> "label"; join của facet là join riêng, độc lập với join trong spec
+    private List<Tuple> countGrouped(
+            Specification<Task> spec,
+            Function<Root<Task>, List<? extends Expression<?>>> keys,
+            Integer limit
+    ) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.distinct(false);
+
+        List<? extends Expression<?>> groupBy = keys.apply(root);
+        Expression<Long> count = cb.countDistinct(root);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(groupBy.get(0).alias("key"));
+        if (groupBy.size() > 1) selections.add(groupBy.get(1).alias("label"));
+        selections.add(count.alias("count"));
+
+        query.select(cb.tuple(selections));
+        query.groupBy(new ArrayList<>(groupBy));
+        query.orderBy(cb.desc(count));
+
+        var typed = em.createQuery(query);
+        if (limit != null) typed.setMaxResults(limit);
+        return typed.getResultList();
+    }
+
+    private List<Tuple> selectRows(Specification<Task> spec, Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+
+        // cột sort phải nằm trong SELECT vì spec (vd hasTagName) có thể bật DISTINCT
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(ID).alias(ID));
+        for (Sort.Order order : sort) {
+            if (!ID.equals(order.getProperty())) {
+                selections.add(root.get(order.getProperty()).alias(order.getProperty()));
+            }
+        }
+        query.select(cb.tuple(selections));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return em.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        query.distinct(false);
+
+        return em.createQuery(query).getSingleResult();
+    }
+
+    private List<Long> toIds(List<Tuple> rows) {
+        return rows.stream()
+                .map(t -> t.get(ID, Long.class))
+                .toList();
+    }
+
+    private Sort withIdTieBreaker(Sort sort) {
+        if (sort.getOrderFor(ID) != null) return sort;
+
+        Sort.Direction dir = sort.stream()
+                .reduce((a, b) -> b)
+                .map(Sort.Order::getDirection)
+                .orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(dir, ID));
+    }
+
+    // Chỉ Instant / Long (MERGEABLE_SORT_PROPERTIES, NOT NULL): thứ tự Java trùng ORDER BY của MySQL
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<Tuple> comparator(Sort sort) {
+        Comparator<Tuple> result = null;
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            Comparator<Tuple> c = Comparator.comparing(t -> (Comparable) t.get(property));
+            if (order.isDescending()) c = c.reversed();
+            result = (result == null) ? c : result.thenComparing(c);
+        }
+        return result != null ? result : Comparator.comparing(t -> t.get(ID, Long.class));
+    }
+}
@@ -0,0 +1,16 @@
+package com.chung.taskcrud.task.repository.projection;
+
+import java.time.Instant;
+
+// Đủ để check quyền + dựng notification, không load Task / User
+public interface TaskAccessView {
+    Long getId();
+    String getTitle();
+    Long getCreatedById();
+    Long getAssigneeId();
+    Instant getDeletedAt();
+
+    default boolean isDeleted() {
+        return getDeletedAt() != null;
+    }
+}
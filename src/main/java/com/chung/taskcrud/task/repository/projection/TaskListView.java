@@ -0,0 +1,23 @@
+package com.chung.taskcrud.task.repository.projection;
+
+import com.chung.taskcrud.task.entity.TaskPriority;
+import com.chung.taskcrud.task.entity.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Read-only row cho task list, không hydrate Task/User entity
+public interface TaskListView {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    TaskStatus getStatus();
+    TaskPriority getPriority();
+    LocalDate getDueDate();
+    Long getCreatedById();
+    String getCreatedByEmail();
+    Long getAssigneeId();
+    String getAssigneeEmail();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+}
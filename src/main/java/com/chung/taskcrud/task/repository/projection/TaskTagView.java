@@ -0,0 +1,6 @@
+package com.chung.taskcrud.task.repository.projection;
+
+public interface TaskTagView {
+    Long getTaskId();
+    String getName();
+}
@@ -0,0 +1,17 @@
+package com.chung.taskcrud.task.repository.projection;
+
+import java.time.Instant;
+
+public interface TaskVersionView {
+    Long getCreatedById();
+    Long getAssigneeId();
+    Instant getUpdatedAt();
+
+    // response có email creator/assignee: đổi email bump users.updatedAt
+    Instant getCreatedByUpdatedAt();
+    Instant getAssigneeUpdatedAt();
+
+    // null khi task chưa có subtask/comment nào
+    Instant getSubtasksUpdatedAt();
+    Instant getCommentsUpdatedAt();
+}
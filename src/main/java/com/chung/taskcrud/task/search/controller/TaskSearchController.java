@@ -0,0 +1,79 @@
+package com.chung.taskcrud.task.search.controller;
+
+import com.chung.taskcrud.common.dto.response.ApiResponse;
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
+import com.chung.taskcrud.task.search.dto.response.TaskSearchHitResponse;
+import com.chung.taskcrud.task.search.service.TaskSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/tasks/search")
+@Tag(name = "Tasks - Search", description = "Tìm kiếm full-text task theo title, description và tag")
+@SecurityRequirement(name = "bearerAuth")
+public class TaskSearchController {
+
+    private final TaskSearchService taskSearchService;
+
+    private String traceId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Operation(
+            summary = "Tìm kiếm task (full-text, xếp hạng theo độ liên quan)",
+            description = """
+                    Tìm theo title, description và tên tag (prefix match từng từ).
+                    Chỉ trả về task user được xem (người tạo / assignee, admin thấy tất cả).
+                    Phân trang bằng cursor: truyền `nextCursor` của response trước.
+                    `highlightedTitle` và `snippet` đã escape HTML, từ khớp bọc trong `<mark>`.
+                    """
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Thành công",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Thiếu query / cursor không hợp lệ",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Chưa đăng nhập / token không hợp lệ",
+                    content = @Content
+            )
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageResponse<TaskSearchHitResponse>>> search(
+            @Parameter(hidden = true) Authentication authentication,
+
+            @Parameter(description = "Từ khoá tìm kiếm", example = "swagger docs", in = ParameterIn.QUERY)
+            @RequestParam String q,
+            @Parameter(description = "Cursor trả về từ trang trước (bỏ trống cho trang đầu)", in = ParameterIn.QUERY)
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Kích thước trang (tối đa 100)", example = "20", in = ParameterIn.QUERY)
+            @RequestParam(defaultValue = "20") int size,
+
+            HttpServletRequest http
+    ) {
+        Long actorId = (Long) authentication.getPrincipal();
+        CursorPageResponse<TaskSearchHitResponse> data = taskSearchService.search(authentication, actorId, q, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(data, http.getRequestURI(), traceId()));
+    }
+}
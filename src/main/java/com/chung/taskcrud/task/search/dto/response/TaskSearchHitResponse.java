@@ -0,0 +1,18 @@
+package com.chung.taskcrud.task.search.dto.response;
+
+import com.chung.taskcrud.task.dto.response.TaskResponse;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchHitResponse {
+    private TaskResponse task;
+    private double score;
+
+    // HTML-escaped, từ khớp được bọc trong <mark>...</mark>
+    private String highlightedTitle;
+    private String snippet;
+}
@@ -0,0 +1,103 @@
+package com.chung.taskcrud.task.search.helper;
+
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class TaskSearchHelper {
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}_]+");
+    private static final int MAX_TERMS = 10;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final String SEPARATOR = "|";
+
+    // Tách query thành term, bỏ toàn bộ toán tử boolean mode của người dùng
+    public List<String> terms(String q) {
+        if (q == null) return List.of();
+
+        Set<String> terms = new LinkedHashSet<>();
+        Matcher m = TOKEN.matcher(q.toLowerCase(Locale.ROOT));
+        while (m.find() && terms.size() < MAX_TERMS) {
+            terms.add(m.group());
+        }
+        return new ArrayList<>(terms);
+    }
+
+    // "foo bar" -> "foo* bar*": prefix match, không bắt buộc đủ term, MySQL tự xếp hạng
+    public String toBooleanQuery(List<String> terms) {
+        return String.join(" ", terms.stream().map(t -> t + "*").toList());
+    }
+
+    public String highlight(String text, List<String> terms) {
+        if (text == null || text.isEmpty()) return text;
+        return mark(text, termPattern(terms));
+    }
+
+    // Cắt 1 đoạn quanh vị trí khớp đầu tiên rồi highlight
+    public String snippet(String text, List<String> terms) {
+        if (text == null || text.isEmpty()) return null;
+
+        Pattern p = termPattern(terms);
+        Matcher m = p.matcher(text);
+        int hit = m.find() ? m.start() : 0;
+
+        int start = Math.max(0, hit - SNIPPET_LENGTH / 4);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+
+        String cut = text.substring(start, end);
+        return (start > 0 ? "…" : "") + mark(cut, p) + (end < text.length() ? "…" : "");
+    }
+
+    public String encodeCursor(double score, Long id) {
+        String raw = score + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public SearchCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 2) throw new IllegalArgumentException();
+            return new SearchCursor(Double.parseDouble(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "Invalid cursor");
+        }
+    }
+
+    private Pattern termPattern(List<String> terms) {
+        // term là prefix (khớp "foo*" của MySQL) nên highlight cả phần còn lại của từ
+        String alt = String.join("|", terms.stream().map(Pattern::quote).toList());
+        return Pattern.compile("(?iu)(?<![\\p{L}\\p{N}_])(?:" + alt + ")[\\p{L}\\p{N}_]*");
+    }
+
+    private String mark(String text, Pattern p) {
+        StringBuilder sb = new StringBuilder();
+        Matcher m = p.matcher(text);
+        int last = 0;
+        while (m.find()) {
+            sb.append(HtmlUtils.htmlEscape(text.substring(last, m.start())))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(m.group()))
+                    .append("</mark>");
+            last = m.end();
+        }
+        sb.append(HtmlUtils.htmlEscape(text.substring(last)));
+        return sb.toString();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SearchCursor {
+        private final double score;
+        private final Long id;
+    }
+}
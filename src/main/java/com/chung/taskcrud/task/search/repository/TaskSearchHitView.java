@@ -0,0 +1,6 @@
+package com.chung.taskcrud.task.search.repository;
+
+public interface TaskSearchHitView {
+    Long getId();
+    Double getScore();
+}
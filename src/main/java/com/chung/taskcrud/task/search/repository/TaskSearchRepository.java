@@ -0,0 +1,71 @@
+package com.chung.taskcrud.task.search.repository;
+
+import com.chung.taskcrud.task.entity.Task;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+public interface TaskSearchRepository extends Repository<Task, Long> {
+
+    /**
+     * Full-text search dựa trên FULLTEXT index (xem V3 migration).
+     * Ứng viên = UNION của 2 nhánh, mỗi nhánh 1 MATCH đứng riêng trong WHERE để MySQL dùng được FULLTEXT index
+     * (MATCH nằm trong OR với điều kiện khác thì bị full scan): title/description trên tasks, name trên tags.
+     * Visibility + deleted_at lọc ngay trong từng nhánh và mỗi nhánh chỉ giữ candidateLimit row relevance cao nhất,
+     * nên phần tính score / sort bên ngoài tối đa 2 * candidateLimit row dù toàn bảng có bao nhiêu row khớp.
+     * Hệ quả: kết quả chỉ nằm trong top ứng viên đó, trang sâu hơn thì hết (hasNext = false).
+     * score = relevance của title/description + relevance cao nhất trong các tag của task,
+     * làm tròn 6 chữ số (cả score lẫn cursor) để so sánh bằng trong keyset không lệch vì sai số float.
+     * actorId = null nghĩa là admin (không giới hạn visibility).
+     * Keyset theo (score desc, id desc): cursorScore/cursorId = null cho trang đầu.
+     */
+    @Query(nativeQuery = true, value = """
+        select s.id as id, s.score as score
+        from (
+            select t.id as id,
+                   round(
+                       match(t.title, t.description) against (:query in boolean mode)
+                       + coalesce((
+                           select max(match(g.name) against (:query in boolean mode))
+                           from task_tags tt
+                           join tags g on g.id = tt.tag_id
+                           where tt.task_id = t.id
+                       ), 0),
+                       6
+                   ) as score
+            from (
+                (
+                    select ft.id as id
+                    from tasks ft
+                    where match(ft.title, ft.description) against (:query in boolean mode)
+                      and ft.deleted_at is null
+                      and (:actorId is null or ft.created_by_id = :actorId or ft.assignee_id = :actorId)
+                    order by match(ft.title, ft.description) against (:query in boolean mode) desc, ft.id desc
+                    limit :candidateLimit
+                )
+                union
+                (
+                    select gt.id as id
+                    from tags g
+                    join task_tags tt on tt.tag_id = g.id
+                    join tasks gt on gt.id = tt.task_id
+                    where match(g.name) against (:query in boolean mode)
+                      and gt.deleted_at is null
+                      and (:actorId is null or gt.created_by_id = :actorId or gt.assignee_id = :actorId)
+                    order by match(g.name) against (:query in boolean mode) desc, gt.id desc
+                    limit :candidateLimit
+                )
+            ) c
+            join tasks t on t.id = c.id
+        ) s
+        where :cursorScore is null
+           or s.score < round(:cursorScore, 6)
+           or (s.score = round(:cursorScore, 6) and s.id < :cursorId)
+        order by s.score desc, s.id desc
+        limit :limit
+    """)
+    List<TaskSearchHitView> search(
+            String query, Long actorId, Double cursorScore, Long cursorId, int candidateLimit, int limit
+    );
+}
@@ -0,0 +1,16 @@
+package com.chung.taskcrud.task.search.service;
+
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
+import com.chung.taskcrud.task.search.dto.response.TaskSearchHitResponse;
+import org.springframework.security.core.Authentication;
+
+public interface TaskSearchService {
+
+    CursorPageResponse<TaskSearchHitResponse> search(
+            Authentication auth,
+            Long actorId,
+            String q,
+            String cursor,
+            int size
+    );
+}
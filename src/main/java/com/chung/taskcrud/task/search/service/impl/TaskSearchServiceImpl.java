@@ -0,0 +1,128 @@
+package com.chung.taskcrud.task.search.service.impl;
+
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.task.helper.TaskMapper;
+import com.chung.taskcrud.task.repository.TaskRepository;
+import com.chung.taskcrud.task.repository.projection.TaskListView;
+import com.chung.taskcrud.task.repository.projection.TaskTagView;
+import com.chung.taskcrud.task.search.dto.response.TaskSearchHitResponse;
+import com.chung.taskcrud.task.search.helper.TaskSearchHelper;
+import com.chung.taskcrud.task.search.repository.TaskSearchHitView;
+import com.chung.taskcrud.task.search.repository.TaskSearchRepository;
+import com.chung.taskcrud.task.search.service.TaskSearchService;
+import com.chung.taskcrud.task.security.TaskAuthorizationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskSearchServiceImpl implements TaskSearchService {
+
+    // snippet chỉ cắt quanh vị trí khớp đầu tiên: đọc 1 đoạn đầu description thay vì cả TEXT (tối đa 65535 ký tự).
+    // Term chỉ khớp ở phía sau đoạn này thì snippet lấy từ đầu description
+    private static final int SNIPPET_SOURCE_LENGTH = 2_000;
+    private static final int MAX_PAGE_SIZE = 100;
+    // mỗi nhánh FULLTEXT chỉ giữ chừng này ứng viên trước khi tính score (xem TaskSearchRepository)
+    private static final int MAX_CANDIDATES = 1_000;
+
+    private final TaskSearchRepository searchRepository;
+    private final TaskRepository taskRepository;
+    private final TaskAuthorizationService authorizationService;
+    private final TaskSearchHelper searchHelper;
+    private final TaskMapper taskMapper;
+
+    @Override
+    public CursorPageResponse<TaskSearchHitResponse> search(
+            Authentication auth,
+            Long actorId,
+            String q,
+            String cursor,
+            int size
+    ) {
+        if (size < 1) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "Size must be greater than 0");
+        }
+        // cùng giới hạn với /api/tasks/cursor; không chặn thì size + 1 có thể tràn int thành LIMIT âm
+        size = Math.min(size, MAX_PAGE_SIZE);
+
+        List<String> terms = searchHelper.terms(q);
+        if (terms.isEmpty()) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "Search query is required");
+        }
+
+        Double cursorScore = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            var c = searchHelper.decodeCursor(cursor);
+            cursorScore = c.getScore();
+            cursorId = c.getId();
+        }
+
+        // cùng rule với TaskSpecifications.visibleTo: admin thấy tất cả
+        Long scope = authorizationService.isSystemAdmin(auth) ? null : actorId;
+
+        List<TaskSearchHitView> hits = searchRepository.search(
+                searchHelper.toBooleanQuery(terms), scope, cursorScore, cursorId, MAX_CANDIDATES, size + 1
+        );
+
+        boolean hasNext = hits.size() > size;
+        List<TaskSearchHitView> page = hasNext ? hits.subList(0, size) : hits;
+
+        List<TaskSearchHitResponse> items = toResponses(page, terms);
+
+        String nextCursor = null;
+        if (hasNext) {
+            TaskSearchHitView last = page.get(page.size() - 1);
+            nextCursor = searchHelper.encodeCursor(last.getScore(), last.getId());
+        }
+
+        return CursorPageResponse.<TaskSearchHitResponse>builder()
+                .items(items)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private List<TaskSearchHitResponse> toResponses(List<TaskSearchHitView> hits, List<String> terms) {
+        if (hits.isEmpty()) return List.of();
+
+        List<Long> ids = hits.stream().map(TaskSearchHitView::getId).toList();
+
+        Map<Long, TaskListView> byId = taskRepository.findListViewsByIdIn(ids, SNIPPET_SOURCE_LENGTH).stream()
+                .collect(Collectors.toMap(TaskListView::getId, Function.identity()));
+
+        Map<Long, List<String>> tagsByTaskId = taskRepository.findTagNamesByTaskIdIn(ids).stream()
+                .collect(Collectors.groupingBy(
+                        TaskTagView::getTaskId,
+                        Collectors.mapping(TaskTagView::getName, Collectors.toList())
+                ));
+
+        return hits.stream()
+                .map(hit -> {
+                    TaskListView v = byId.get(hit.getId());
+                    if (v == null) return null;
+
+                    return TaskSearchHitResponse.builder()
+                            // description đầy đủ không trả về, client dùng snippet
+                            .task(taskMapper.toResponse(v, tagsByTaskId.get(v.getId()), false))
+                            .score(hit.getScore())
+                            .highlightedTitle(searchHelper.highlight(v.getTitle(), terms))
+                            .snippet(searchHelper.snippet(v.getDescription(), terms))
+                            .build();
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.chung.taskcrud.task.security;
+
+import com.chung.taskcrud.common.exception.AppException;
+import com.chung.taskcrud.common.exception.ErrorCode;
+import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.repository.TaskRepository;
+import com.chung.taskcrud.task.repository.projection.TaskAccessView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Load task theo id kèm check quyền, mỗi lần check (allow hay deny) đúng 1 query:
+ * - subtask/comment/log: chỉ cần TaskAccessView (id, title, FK creator/assignee), không load Task / User
+ * - sửa task: cần entity để update, load kèm creator/assignee/tags trong cùng query vì response đọc email + tags
+ * - xoá task: cần entity để update, id creator/assignee lấy từ proxy FK nên không load users
+ * Thứ tự lỗi giữ như cũ: không có task -> 404 trước, không đủ quyền -> 403.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskAccessLoader {
+
+    private final TaskRepository taskRepository;
+    private final TaskAuthorizationService authorizationService;
+
+    public TaskAccessView requireView(Authentication auth, Long actorId, Long taskId) {
+        TaskAccessView v = findActive(taskId);
+        authorizationService.assertCanView(auth, actorId, v.getCreatedById(), v.getAssigneeId());
+        return v;
+    }
+
+    // lịch sử vẫn xem được sau khi task bị soft delete
+    public TaskAccessView requireViewIncludingDeleted(Authentication auth, Long actorId, Long taskId) {
+        TaskAccessView v = taskRepository.findAccessViewById(taskId)
+                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+        authorizationService.assertCanView(auth, actorId, v.getCreatedById(), v.getAssigneeId());
+        return v;
+    }
+
+    public TaskAccessView requireModify(Authentication auth, Long actorId, Long taskId) {
+        TaskAccessView v = findActive(taskId);
+        authorizationService.assertCanModify(auth, actorId, v.getCreatedById(), v.getAssigneeId());
+        return v;
+    }
+
+    public TaskAccessView requireDelete(Authentication auth, Long actorId, Long taskId) {
+        TaskAccessView v = findActive(taskId);
+        authorizationService.assertCanDelete(auth, actorId, v.getCreatedById(), v.getAssigneeId());
+        return v;
+    }
+
+    public Task loadForModify(Authentication auth, Long actorId, Long taskId) {
+        Task task = taskRepository.findWithDetailsById(taskId)
+                .filter(t -> !t.isDeleted())
+                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+        authorizationService.assertCanModify(auth, actorId, task);
+        return task;
+    }
+
+    public Task loadForDelete(Authentication auth, Long actorId, Long taskId) {
+        Task task = findActiveTask(taskId);
+        authorizationService.assertCanDelete(auth, actorId, task);
+        return task;
+    }
+
+    private TaskAccessView findActive(Long taskId) {
+        return taskRepository.findAccessViewById(taskId)
+                .filter(v -> !v.isDeleted())
+                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+    }
+
+    private Task findActiveTask(Long taskId) {
+        return taskRepository.findById(taskId)
+                .filter(t -> !t.isDeleted())
+                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+    }
+}
@@ -1,5 +1,7 @@
 package com.chung.taskcrud.task.security;
 
+import com.chung.taskcrud.auth.security.AppPermission;
+import com.chung.taskcrud.auth.security.TokenAuthentication;
 import com.chung.taskcrud.common.exception.AppException;
 import com.chung.taskcrud.common.exception.ErrorCode;
 import com.chung.taskcrud.task.entity.Task;
@@ -9,33 +11,24 @@ import org.springframework.stereotype.Component;
 @Component
 public class TaskAuthorizationService {
 
-    private static final String SYSTEM_ADMIN = "SYSTEM_ADMIN";
-    private static final String TASK_READ = "TASK_READ";
-    private static final String TASK_UPDATE_OWN_OR_ASSIGNED = "TASK_UPDATE_OWN_OR_ASSIGNED";
-    private static final String TASK_DELETE_OWN_OR_ASSIGNED = "TASK_DELETE_OWN_OR_ASSIGNED";
-
     public boolean isSystemAdmin(Authentication auth) {
-        return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> SYSTEM_ADMIN.equals(a.getAuthority()));
+        return has(auth, AppPermission.SYSTEM_ADMIN);
     }
 
-    private boolean has(Authentication auth, String authority) {
+    // TokenAuthentication (request có JWT): lookup EnumSet dựng sẵn; loại Authentication khác thì duyệt authorities
+    private boolean has(Authentication auth, AppPermission permission) {
+        if (auth instanceof TokenAuthentication token) return token.has(permission);
         return auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> authority.equals(a.getAuthority()));
-    }
-
-    private void require(Authentication auth, String authority) {
-        if (isSystemAdmin(auth)) return;
-        if (!has(auth, authority)) {
-            throw new AppException(ErrorCode.TASK_ACCESS_DENIED, "Missing permission: " + authority);
-        }
+                .anyMatch(a -> permission.name().equals(a.getAuthority()));
     }
 
-    private void requireOwnerOrAssignee(Authentication auth, Long actorId, Task task) {
+    // SYSTEM_ADMIN bỏ qua mọi check; còn lại cần permission + là creator / assignee
+    private void check(Authentication auth, AppPermission permission, Long actorId, Long createdById, Long assigneeId) {
         if (isSystemAdmin(auth)) return;
 
-        Long createdById = task.getCreatedBy().getId();
-        Long assigneeId = (task.getAssignee() != null) ? task.getAssignee().getId() : null;
+        if (!has(auth, permission)) {
+            throw new AppException(ErrorCode.TASK_ACCESS_DENIED, "Missing permission: " + permission.name());
+        }
 
         boolean allowed = createdById.equals(actorId) || (assigneeId != null && assigneeId.equals(actorId));
         if (!allowed) {
@@ -44,18 +37,34 @@ public class TaskAuthorizationService {
         }
     }
 
+    private void check(Authentication auth, AppPermission permission, Long actorId, Task task) {
+        Long createdById = task.getCreatedBy().getId();
+        Long assigneeId = (task.getAssignee() != null) ? task.getAssignee().getId() : null;
+        check(auth, permission, actorId, createdById, assigneeId);
+    }
+
     public void assertCanView(Authentication auth, Long actorId, Task task) {
-        require(auth, TASK_READ);
-        requireOwnerOrAssignee(auth, actorId, task);
+        check(auth, AppPermission.TASK_READ, actorId, task);
+    }
+
+    // Dùng khi chỉ có id creator/assignee (vd validator ETag), không cần load Task
+    public void assertCanView(Authentication auth, Long actorId, Long createdById, Long assigneeId) {
+        check(auth, AppPermission.TASK_READ, actorId, createdById, assigneeId);
     }
 
     public void assertCanModify(Authentication auth, Long actorId, Task task) {
-        require(auth, TASK_UPDATE_OWN_OR_ASSIGNED);
-        requireOwnerOrAssignee(auth, actorId, task);
+        check(auth, AppPermission.TASK_UPDATE_OWN_OR_ASSIGNED, actorId, task);
+    }
+
+    public void assertCanModify(Authentication auth, Long actorId, Long createdById, Long assigneeId) {
+        check(auth, AppPermission.TASK_UPDATE_OWN_OR_ASSIGNED, actorId, createdById, assigneeId);
     }
 
     public void assertCanDelete(Authentication auth, Long actorId, Task task) {
-        require(auth, TASK_DELETE_OWN_OR_ASSIGNED);
-        requireOwnerOrAssignee(auth, actorId, task);
+        check(auth, AppPermission.TASK_DELETE_OWN_OR_ASSIGNED, actorId, task);
+    }
+
+    public void assertCanDelete(Authentication auth, Long actorId, Long createdById, Long assigneeId) {
+        check(auth, AppPermission.TASK_DELETE_OWN_OR_ASSIGNED, actorId, createdById, assigneeId);
     }
 }
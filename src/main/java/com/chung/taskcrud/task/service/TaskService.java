@@ -1,15 +1,18 @@
 package com.chung.taskcrud.task.service;
 
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
 import com.chung.taskcrud.common.dto.response.PageResponse;
 import com.chung.taskcrud.task.dto.request.AssignTaskRequest;
 import com.chung.taskcrud.task.dto.request.CreateTaskRequest;
 import com.chung.taskcrud.task.dto.request.UpdateTaskRequest;
 import com.chung.taskcrud.task.dto.request.UpdateTaskStatusRequest;
 import com.chung.taskcrud.task.dto.response.TaskDetailResponse;
+import com.chung.taskcrud.task.dto.response.TaskFacetsResponse;
 import com.chung.taskcrud.task.dto.response.TaskResponse;
 import com.chung.taskcrud.task.entity.TaskPriority;
 import com.chung.taskcrud.task.entity.TaskStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 
 import java.time.LocalDate;
@@ -30,11 +33,56 @@ public interface TaskService {
             LocalDate dueTo,
             String tag,
             Long assigneeId,
+            boolean includeDescription,
             Pageable pageable
     );
 
+    // ETag cho GET /api/tasks: đổi khi tập task khớp filter thay đổi (count, max updatedAt) hoặc tham số trang đổi
+    String listETag(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId,
+            boolean includeDescription,
+            Pageable pageable
+    );
+
+    CursorPageResponse<TaskResponse> listByCursor(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId,
+            boolean includeDescription,
+            String cursor,
+            int size,
+            Sort sort
+    );
+
+    TaskFacetsResponse facets(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId,
+            int top
+    );
+
     TaskDetailResponse detail(Authentication auth, Long actorId, Long taskId);
 
+    // ETag cho GET /api/tasks/{id}, đã check quyền xem
+    String detailETag(Authentication auth, Long actorId, Long taskId);
+
     TaskResponse assign(Authentication auth, Long actorId, Long taskId, AssignTaskRequest request);
 
     TaskResponse updateStatus(Authentication auth, Long actorId, Long taskId, UpdateTaskStatusRequest request);
@@ -1,7 +1,8 @@
 package com.chung.taskcrud.task.service.impl;
 
 import com.chung.taskcrud.auth.entity.User;
-import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.auth.service.UserReferenceService;
+import com.chung.taskcrud.common.dto.response.CursorPageResponse;
 import com.chung.taskcrud.common.dto.response.PageResponse;
 import com.chung.taskcrud.common.exception.AppException;
 import com.chung.taskcrud.common.exception.ErrorCode;
@@ -9,66 +10,85 @@ import com.chung.taskcrud.log.entity.TaskLogEventType;
 import com.chung.taskcrud.log.helper.TaskLogHelper;
 import com.chung.taskcrud.notification.entity.NotificationType;
 import com.chung.taskcrud.notification.helper.NotificationHelper;
-import com.chung.taskcrud.task.comment.dto.response.CommentResponse;
-import com.chung.taskcrud.task.comment.helper.CommentMapper;
-import com.chung.taskcrud.task.comment.repository.TaskCommentRepository;
 import com.chung.taskcrud.task.dto.request.*;
+import com.chung.taskcrud.task.dto.response.AssigneeFacetResponse;
+import com.chung.taskcrud.task.dto.response.TagFacetResponse;
 import com.chung.taskcrud.task.dto.response.TaskDetailResponse;
+import com.chung.taskcrud.task.dto.response.TaskFacetsResponse;
 import com.chung.taskcrud.task.dto.response.TaskResponse;
 import com.chung.taskcrud.task.entity.Task;
 import com.chung.taskcrud.task.entity.TaskPriority;
 import com.chung.taskcrud.task.entity.TaskStatus;
+import com.chung.taskcrud.task.helper.TaskCursorHelper;
+import com.chung.taskcrud.task.helper.TaskDetailLoader;
+import com.chung.taskcrud.task.helper.TaskETagHelper;
+import com.chung.taskcrud.task.helper.TaskFacetCache;
 import com.chung.taskcrud.task.helper.TaskMapper;
 import com.chung.taskcrud.task.helper.TaskQueryHelper;
 import com.chung.taskcrud.task.helper.TaskTagHelper;
 import com.chung.taskcrud.task.repository.TaskRepository;
+import com.chung.taskcrud.task.repository.projection.TaskListView;
+import com.chung.taskcrud.task.repository.projection.TaskTagView;
+import com.chung.taskcrud.task.repository.projection.TaskVersionView;
+import com.chung.taskcrud.task.security.TaskAccessLoader;
 import com.chung.taskcrud.task.security.TaskAuthorizationService;
 import com.chung.taskcrud.task.service.TaskService;
-import com.chung.taskcrud.task.subtask.dto.response.SubtaskResponse;
-import com.chung.taskcrud.task.subtask.helper.SubtaskMapper;
-import com.chung.taskcrud.task.subtask.repository.SubtaskRepository;
+import com.chung.taskcrud.task.specification.TaskSpecifications;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TaskServiceImpl implements TaskService {
 
+    private static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int FACET_TOP_DEFAULT = 10;
+    private static final int FACET_TOP_MAX = 50;
+
     private final TaskRepository taskRepository;
-    private final UserRepository userRepository;
+    private final UserReferenceService userReferenceService;
     private final TaskAuthorizationService authorizationService;
+    private final TaskAccessLoader accessLoader;
 
     private final TaskMapper taskMapper;
     private final TaskTagHelper tagHelper;
     private final TaskQueryHelper queryHelper;
-
-    private final SubtaskRepository subtaskRepository;
-    private final SubtaskMapper subtaskMapper;
-
-    private final TaskCommentRepository taskCommentRepository;
-    private final CommentMapper commentMapper;
+    private final TaskCursorHelper cursorHelper;
+    private final TaskFacetCache facetCache;
+    private final TaskETagHelper etagHelper;
+    private final TaskDetailLoader detailLoader;
 
     private final NotificationHelper notificationHelper;
     private final TaskLogHelper taskLogHelper;
 
     @Override
     public TaskResponse create(Authentication auth, Long actorId, CreateTaskRequest request) {
-        User creator = getUserOrThrow(actorId);
+        User creator = userReferenceService.getReferenceOrThrow(actorId);
 
         User assignee = null;
         if (request.getAssigneeId() != null) {
-            assignee = getUserOrThrow(request.getAssigneeId());
+            assignee = userReferenceService.getReferenceOrThrow(request.getAssigneeId());
         }
 
         Task task = Task.builder()
@@ -83,6 +103,7 @@ public class TaskServiceImpl implements TaskService {
 
         task.setTags(tagHelper.resolveTags(request.getTags()));
         taskRepository.save(task);
+        evictFacets(task);
 
         notificationHelper.notifyTaskEvent(task, actorId, NotificationType.TASK_CREATED);
         taskLogHelper.logSimple(task, actorId, TaskLogEventType.TASK_CREATED);
@@ -92,8 +113,7 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public TaskResponse update(Authentication auth, Long actorId, Long taskId, UpdateTaskRequest request) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanModify(auth, actorId, task);
+        Task task = accessLoader.loadForModify(auth, actorId, taskId);
 
         String oldTitle = task.getTitle();
         String oldDesc = task.getDescription();
@@ -111,7 +131,7 @@ public class TaskServiceImpl implements TaskService {
         if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
 
         if (request.getAssigneeId() != null) {
-            task.setAssignee(getUserOrThrow(request.getAssigneeId()));
+            task.setAssignee(userReferenceService.getReferenceOrThrow(request.getAssigneeId()));
         }
 
         if (request.getTags() != null) {
@@ -135,7 +155,11 @@ public class TaskServiceImpl implements TaskService {
             return taskMapper.toResponse(task);
         }
 
+        // chỉ đổi tags (collection) thì Hibernate không chạy @PreUpdate → tự bump để ETag đổi theo
+        if (c7 != null) task.setUpdatedAt(Instant.now());
+
         taskRepository.save(task);
+        evictFacets(task, oldAssigneeId);
 
         notificationHelper.notifyTaskEvent(task, actorId, NotificationType.TASK_UPDATED);
 
@@ -150,14 +174,14 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public void softDelete(Authentication auth, Long actorId, Long taskId) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanDelete(auth, actorId, task);
+        Task task = accessLoader.loadForDelete(auth, actorId, taskId);
 
         if (!task.isDeleted()) {
             Instant oldDeletedAt = task.getDeletedAt();
 
             task.setDeletedAt(Instant.now());
             taskRepository.save(task);
+            evictFacets(task);
 
             notificationHelper.notifyTaskEvent(task, actorId, NotificationType.TASK_DELETED);
 
@@ -179,14 +203,16 @@ public class TaskServiceImpl implements TaskService {
             LocalDate dueTo,
             String tag,
             Long assigneeId,
+            boolean includeDescription,
             Pageable pageable
     ) {
-        Specification<Task> spec = queryHelper.buildSpec(auth, actorId, status, priority, dueFrom, dueTo, tag, assigneeId);
-        Page<Task> page = taskRepository.findAll(spec, pageable);
+        List<Specification<Task>> branches =
+                queryHelper.buildPageBranches(auth, actorId, status, priority, dueFrom, dueTo, tag, assigneeId, pageable);
 
-        List<TaskResponse> items = page.getContent().stream()
-                .map(taskMapper::toResponse)
-                .toList();
+        // 2 phase: page id theo từng nhánh visibility (merge), sau đó load row + tags cho cả trang
+        Page<Long> page = taskRepository.findIdsMerged(branches, pageable);
+
+        List<TaskResponse> items = loadRows(page.getContent(), includeDescription);
 
         return PageResponse.<TaskResponse>builder()
                 .items(items)
@@ -199,39 +225,189 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional(readOnly = true)
-    public TaskDetailResponse detail(Authentication auth, Long actorId, Long taskId) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanView(auth, actorId, task);
+    public String listETag(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId,
+            boolean includeDescription,
+            Pageable pageable
+    ) {
+        List<Specification<Task>> branches =
+                queryHelper.buildVisibleBranches(auth, actorId, status, priority, dueFrom, dueTo, tag, assigneeId);
+
+        // count bắt được task rời khỏi tập (xoá, đổi assignee), max updatedAt bắt mọi insert/update còn lại,
+        // max updatedAt của creator/assignee bắt đổi email hiện trong response
+        long count = 0;
+        Instant maxUpdatedAt = null;
+        Instant maxUserUpdatedAt = null;
+        for (Specification<Task> branch : branches) {
+            Tuple t = taskRepository.countAndMaxUpdatedAt(branch);
+            count += t.get("count", Long.class);
+            maxUpdatedAt = latest(maxUpdatedAt, t.get("maxUpdatedAt", Instant.class));
+            maxUserUpdatedAt = latest(maxUserUpdatedAt, t.get("maxCreatorUpdatedAt", Instant.class));
+            maxUserUpdatedAt = latest(maxUserUpdatedAt, t.get("maxAssigneeUpdatedAt", Instant.class));
+        }
+
+        return etagHelper.etag(
+                "tasks", actorId, status, priority, dueFrom, dueTo, tag, assigneeId, includeDescription,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(),
+                count, maxUpdatedAt, maxUserUpdatedAt
+        );
+    }
 
-        List<SubtaskResponse> subtasks = subtaskRepository
-                .findAllByTask_IdAndDeletedAtIsNull(taskId)
-                .stream()
-                .map(subtaskMapper::toResponse)
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> listByCursor(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId,
+            boolean includeDescription,
+            String cursor,
+            int size,
+            Sort sort
+    ) {
+        if (size < 1) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR, "Size must be greater than 0");
+        }
+        // size lớn = đọc id + load row không giới hạn trong 1 request
+        size = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        Sort.Order order = cursorHelper.resolveOrder(sort);
+
+        List<Specification<Task>> branches =
+                queryHelper.buildVisibleBranches(auth, actorId, status, priority, dueFrom, dueTo, tag, assigneeId);
+        if (cursor != null && !cursor.isBlank()) {
+            var c = cursorHelper.decode(cursor, order);
+            Specification<Task> seek = TaskSpecifications.seekAfter(c.getField(), c.getDirection(), c.getValue(), c.getId());
+            branches = branches.stream().map(b -> b.and(seek)).toList();
+        }
+
+        // id làm tie-breaker để thứ tự ổn định khi trùng sort value
+        Sort seekSort = Sort.by(order.getDirection(), order.getProperty())
+                .and(Sort.by(order.getDirection(), "id"));
+
+        // lấy dư 1 phần tử để biết còn trang sau, không cần COUNT(*)
+        List<Long> ids = taskRepository.findIdsMerged(branches, seekSort, size + 1);
+
+        boolean hasNext = ids.size() > size;
+        List<TaskResponse> items = loadRows(hasNext ? ids.subList(0, size) : ids, includeDescription);
+
+        String nextCursor = hasNext && !items.isEmpty()
+                ? cursorHelper.encode(order, items.get(items.size() - 1))
+                : null;
+
+        return CursorPageResponse.<TaskResponse>builder()
+                .items(items)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskFacetsResponse facets(
+            Authentication auth,
+            Long actorId,
+            TaskStatus status,
+            TaskPriority priority,
+            LocalDate dueFrom,
+            LocalDate dueTo,
+            String tag,
+            Long assigneeId,
+            int top
+    ) {
+        int limit = top < 1 ? FACET_TOP_DEFAULT : Math.min(top, FACET_TOP_MAX);
+        boolean admin = authorizationService.isSystemAdmin(auth);
+        String key = String.join("|",
+                String.valueOf(status), String.valueOf(priority),
+                String.valueOf(dueFrom), String.valueOf(dueTo),
+                String.valueOf(tag), String.valueOf(assigneeId), String.valueOf(limit));
+
+        TaskFacetsResponse cached = facetCache.get(actorId, admin, key);
+        if (cached != null) return cached;
+
+        // đọc generation trước khi query: nếu có mutation commit xen giữa thì kết quả không được cache
+        long generation = facetCache.generation(actorId, admin);
+
+        Specification<Task> spec = queryHelper.buildSpec(auth, actorId, status, priority, dueFrom, dueTo, tag, assigneeId);
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus s : TaskStatus.values()) byStatus.put(s, 0L);
+        for (Tuple t : taskRepository.countByStatus(spec)) {
+            byStatus.put(t.get("key", TaskStatus.class), t.get("count", Long.class));
+        }
+
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority p : TaskPriority.values()) byPriority.put(p, 0L);
+        for (Tuple t : taskRepository.countByPriority(spec)) {
+            byPriority.put(t.get("key", TaskPriority.class), t.get("count", Long.class));
+        }
+
+        List<TagFacetResponse> tags = taskRepository.countTopTags(spec, limit).stream()
+                .map(t -> TagFacetResponse.builder()
+                        .name(t.get("key", String.class))
+                        .count(t.get("count", Long.class))
+                        .build())
                 .toList();
 
-        List<CommentResponse> comments = taskCommentRepository
-                .findAllByTask_IdAndDeletedAtIsNull(taskId, PageRequest.of(0, 50))
-                .getContent()
-                .stream()
-                .map(commentMapper::toResponse)
+        List<AssigneeFacetResponse> assignees = taskRepository.countTopAssignees(spec, limit).stream()
+                .map(t -> AssigneeFacetResponse.builder()
+                        .assigneeId(t.get("key", Long.class))
+                        .assigneeEmail(t.get("label", String.class))
+                        .count(t.get("count", Long.class))
+                        .build())
                 .toList();
 
-        return TaskDetailResponse.builder()
-                .task(taskMapper.toResponse(task))
-                .subtasks(subtasks)
-                .comments(comments)
+        TaskFacetsResponse data = TaskFacetsResponse.builder()
+                .status(byStatus)
+                .priority(byPriority)
+                .tags(tags)
+                .assignees(assignees)
                 .build();
+
+        facetCache.put(actorId, admin, key, generation, data);
+        return data;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TaskDetailResponse detail(Authentication auth, Long actorId, Long taskId) {
+        // không giữ transaction ở đây: TaskDetailLoader tự mở transaction read-only cho từng query song song
+        return detailLoader.load(taskId, task -> authorizationService.assertCanView(auth, actorId, task));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String detailETag(Authentication auth, Long actorId, Long taskId) {
+        TaskVersionView v = taskRepository.findVersionById(taskId)
+                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+        authorizationService.assertCanView(auth, actorId, v.getCreatedById(), v.getAssigneeId());
+
+        return etagHelper.etag(
+                "task", taskId, v.getUpdatedAt(), v.getSubtasksUpdatedAt(), v.getCommentsUpdatedAt(),
+                v.getCreatedByUpdatedAt(), v.getAssigneeUpdatedAt()
+        );
     }
 
     @Override
     public TaskResponse assign(Authentication auth, Long actorId, Long taskId, AssignTaskRequest request) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanModify(auth, actorId, task);
+        Task task = accessLoader.loadForModify(auth, actorId, taskId);
 
         Long oldAssigneeId = (task.getAssignee() != null) ? task.getAssignee().getId() : null;
 
-        task.setAssignee(getUserOrThrow(request.getAssigneeId()));
+        task.setAssignee(userReferenceService.getReferenceOrThrow(request.getAssigneeId()));
         taskRepository.save(task);
+        evictFacets(task, oldAssigneeId);
 
         notificationHelper.notifyTaskEvent(task, actorId, NotificationType.TASK_ASSIGNED);
 
@@ -246,13 +422,13 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public TaskResponse updateStatus(Authentication auth, Long actorId, Long taskId, UpdateTaskStatusRequest request) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanModify(auth, actorId, task);
+        Task task = accessLoader.loadForModify(auth, actorId, taskId);
 
         TaskStatus oldStatus = task.getStatus();
 
         task.setStatus(request.getStatus());
         taskRepository.save(task);
+        evictFacets(task);
 
         notificationHelper.notifyTaskEvent(task, actorId, NotificationType.TASK_STATUS_UPDATED);
 
@@ -264,15 +440,39 @@ public class TaskServiceImpl implements TaskService {
         return taskMapper.toResponse(task);
     }
 
-    private Task getTaskOrThrow(Long id) {
-        return taskRepository.findById(id)
-                .filter(t -> !t.isDeleted())
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+    // task thay đổi → facet của creator, assignee hiện tại (và assignee cũ nếu có) không còn đúng
+    private void evictFacets(Task task, Long... extraUserIds) {
+        List<Long> userIds = new ArrayList<>(Arrays.asList(extraUserIds));
+        if (task.getCreatedBy() != null) userIds.add(task.getCreatedBy().getId());
+        if (task.getAssignee() != null) userIds.add(task.getAssignee().getId());
+        facetCache.evictAfterCommit(userIds);
+    }
+
+    // Projection read path: không đưa Task/User vào persistence context, giữ đúng thứ tự ids
+    private List<TaskResponse> loadRows(List<Long> ids, boolean includeDescription) {
+        if (ids.isEmpty()) return List.of();
+
+        int previewLength = includeDescription ? DESCRIPTION_PREVIEW_LENGTH : 0;
+        Map<Long, TaskListView> byId = taskRepository.findListViewsByIdIn(ids, previewLength).stream()
+                .collect(Collectors.toMap(TaskListView::getId, Function.identity()));
+
+        Map<Long, List<String>> tagsByTaskId = taskRepository.findTagNamesByTaskIdIn(ids).stream()
+                .collect(Collectors.groupingBy(
+                        TaskTagView::getTaskId,
+                        Collectors.mapping(TaskTagView::getName, Collectors.toList())
+                ));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(v -> taskMapper.toResponse(v, tagsByTaskId.get(v.getId()), includeDescription))
+                .toList();
     }
 
-    private User getUserOrThrow(Long id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.VALIDATION_ERROR, "User not found"));
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return b.isAfter(a) ? b : a;
     }
 
     // fix join tags
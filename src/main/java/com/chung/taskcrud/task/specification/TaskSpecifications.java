@@ -4,8 +4,10 @@ import com.chung.taskcrud.task.entity.Task;
 import com.chung.taskcrud.task.entity.TaskPriority;
 import com.chung.taskcrud.task.entity.TaskStatus;
 import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 public class TaskSpecifications {
@@ -50,4 +52,39 @@ public class TaskSpecifications {
                 cb.equal(root.get("assignee").get("id"), actorId)
         );
     }
-}
\ No newline at end of file
+
+    // Tách visibleTo thành 2 nhánh rời nhau để mỗi nhánh dùng được composite index riêng:
+    // (created_by_id, deleted_at, created_at) và (assignee_id, deleted_at, created_at)
+    public static Specification<Task> createdBy(Long actorId) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy").get("id"), actorId);
+    }
+
+    // assignee == actor nhưng không phải người tạo (phần đó đã nằm ở nhánh createdBy)
+    public static Specification<Task> assignedToOthersTask(Long actorId) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("assignee").get("id"), actorId),
+                cb.notEqual(root.get("createdBy").get("id"), actorId)
+        );
+    }
+
+    // Keyset seek: (field, id) nằm sau cursor theo đúng chiều sort
+    // ASC:  field > v OR (field = v AND id > lastId)
+    // DESC: field < v OR (field = v AND id < lastId)
+    public static Specification<Task> seekAfter(String field, Sort.Direction direction, Instant value, Long lastId) {
+        return (root, query, cb) -> {
+            var f = root.<Instant>get(field);
+            var id = root.<Long>get("id");
+
+            if (direction.isAscending()) {
+                return cb.or(
+                        cb.greaterThan(f, value),
+                        cb.and(cb.equal(f, value), cb.greaterThan(id, lastId))
+                );
+            }
+            return cb.or(
+                    cb.lessThan(f, value),
+                    cb.and(cb.equal(f, value), cb.lessThan(id, lastId))
+            );
+        };
+    }
+}
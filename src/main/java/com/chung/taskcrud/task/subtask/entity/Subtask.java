@@ -8,8 +8,7 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "subtasks", indexes = {
-        @Index(name = "idx_subtask_task_id", columnList = "task_id"),
-        @Index(name = "idx_subtask_deleted_at", columnList = "deleted_at")
+        @Index(name = "idx_subtask_task_deleted", columnList = "task_id, deleted_at")
 })
 @Getter
 @Setter
@@ -4,9 +4,9 @@ import com.chung.taskcrud.common.exception.AppException;
 import com.chung.taskcrud.common.exception.ErrorCode;
 import com.chung.taskcrud.notification.entity.NotificationType;
 import com.chung.taskcrud.notification.helper.NotificationHelper;
-import com.chung.taskcrud.task.entity.Task;
 import com.chung.taskcrud.task.repository.TaskRepository;
-import com.chung.taskcrud.task.security.TaskAuthorizationService;
+import com.chung.taskcrud.task.repository.projection.TaskAccessView;
+import com.chung.taskcrud.task.security.TaskAccessLoader;
 import com.chung.taskcrud.task.subtask.dto.request.CreateSubtaskRequest;
 import com.chung.taskcrud.task.subtask.dto.request.UpdateSubtaskRequest;
 import com.chung.taskcrud.task.subtask.dto.response.SubtaskResponse;
@@ -30,17 +30,17 @@ public class SubtaskServiceImpl implements SubtaskService {
     private final TaskRepository taskRepository;
     private final SubtaskRepository subtaskRepository;
 
-    private final TaskAuthorizationService authorizationService;
+    private final TaskAccessLoader accessLoader;
     private final NotificationHelper notificationHelper;
     private final SubtaskMapper mapper;
 
     @Override
     public SubtaskResponse create(Authentication auth, Long actorId, Long taskId, CreateSubtaskRequest request) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanModify(auth, actorId, task);
+        TaskAccessView task = accessLoader.requireModify(auth, actorId, taskId);
 
+        // chỉ cần FK task_id: reference, không query lại task
         Subtask subtask = Subtask.builder()
-                .task(task)
+                .task(taskRepository.getReferenceById(taskId))
                 .title(request.getTitle().trim())
                 .status(request.getStatus() != null ? request.getStatus() : SubtaskStatus.TODO)
                 .build();
@@ -60,8 +60,7 @@ public class SubtaskServiceImpl implements SubtaskService {
 
     @Override
     public SubtaskResponse update(Authentication auth, Long actorId, Long taskId, Long subtaskId, UpdateSubtaskRequest request) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanModify(auth, actorId, task);
+        TaskAccessView task = accessLoader.requireModify(auth, actorId, taskId);
 
         Subtask subtask = getSubtaskOrThrow(subtaskId);
         assertBelongsToTask(subtask, taskId);
@@ -84,8 +83,7 @@ public class SubtaskServiceImpl implements SubtaskService {
 
     @Override
     public void delete(Authentication auth, Long actorId, Long taskId, Long subtaskId) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanDelete(auth, actorId, task);
+        TaskAccessView task = accessLoader.requireDelete(auth, actorId, taskId);
 
         Subtask subtask = getSubtaskOrThrow(subtaskId);
         assertBelongsToTask(subtask, taskId);
@@ -107,8 +105,7 @@ public class SubtaskServiceImpl implements SubtaskService {
     @Override
     @Transactional(readOnly = true)
     public SubtaskResponse detail(Authentication auth, Long actorId, Long taskId, Long subtaskId) {
-        Task task = getTaskOrThrow(taskId);
-        authorizationService.assertCanView(auth, actorId, task);
+        accessLoader.requireView(auth, actorId, taskId);
 
         Subtask subtask = getSubtaskOrThrow(subtaskId);
         assertBelongsToTask(subtask, taskId);
@@ -117,12 +114,6 @@ public class SubtaskServiceImpl implements SubtaskService {
     }
 
     // ===== helpers =====
-    private Task getTaskOrThrow(Long id) {
-        return taskRepository.findById(id)
-                .filter(t -> !t.isDeleted())
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
-    }
-
     private Subtask getSubtaskOrThrow(Long id) {
         return subtaskRepository.findByIdAndDeletedAtIsNull(id)
                 .orElseThrow(() -> new AppException(ErrorCode.SUBTASK_NOT_FOUND));
@@ -0,0 +1,8 @@
+-- V10: list task sort theo id (nhánh createdBy / assignee, xem TaskQueryHelper.buildPageBranches).
+-- Index V2 có created_at nằm giữa phần so sánh bằng và id (PK InnoDB gắn cuối) nên ORDER BY id phải filesort
+-- toàn bộ task của user. 2 index này đọc thẳng theo id sau prefix `x = ? AND deleted_at IS NULL`.
+create index idx_task_creator_deleted_id
+    on tasks (created_by_id, deleted_at, id);
+
+create index idx_task_assignee_deleted_id
+    on tasks (assignee_id, deleted_at, id);
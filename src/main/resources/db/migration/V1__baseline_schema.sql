@@ -0,0 +1,284 @@
+-- V1: baseline schema, tương đương schema mà ddl-auto=update đã tạo trước khi chuyển sang Flyway.
+-- DB đã có sẵn bảng sẽ được baseline ở version 1 (spring.flyway.baseline-on-migrate) nên file này bị bỏ qua.
+
+create table email_verification_tokens (
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    id bigint not null auto_increment,
+    used_at datetime(6),
+    user_id bigint not null,
+    token varchar(128) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table notifications (
+    actor_id bigint,
+    created_at datetime(6) not null,
+    entity_id bigint not null,
+    id bigint not null auto_increment,
+    read_at datetime(6),
+    recipient_id bigint not null,
+    entity_type varchar(30) not null,
+    message varchar(2000) not null,
+    metadata TEXT,
+    title varchar(255) not null,
+    type enum ('COMMENT_CREATED','SUBTASK_CREATED','SUBTASK_DELETED','SUBTASK_UPDATED','TASK_ASSIGNED','TASK_CREATED','TASK_DELETED','TASK_STATUS_UPDATED','TASK_UPDATED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table permissions (
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table refresh_tokens (
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    id bigint not null auto_increment,
+    revoked_at datetime(6),
+    user_id bigint not null,
+    token varchar(128) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table role_permissions (
+    permission_id bigint not null,
+    role_id bigint not null,
+    primary key (permission_id, role_id)
+) engine=InnoDB;
+
+create table roles (
+    id bigint not null auto_increment,
+    name varchar(50) not null,
+    description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table subtasks (
+    created_at datetime(6) not null,
+    deleted_at datetime(6),
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    updated_at datetime(6) not null,
+    title varchar(200) not null,
+    status enum ('DONE','TODO') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table tags (
+    id bigint not null auto_increment,
+    name varchar(60) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table task_comments (
+    author_id bigint not null,
+    created_at datetime(6) not null,
+    deleted_at datetime(6),
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    updated_at datetime(6) not null,
+    content varchar(5000) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table task_log_changes (
+    id bigint not null auto_increment,
+    task_log_id bigint not null,
+    field_name varchar(100) not null,
+    new_value TEXT,
+    old_value TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table task_logs (
+    actor_id bigint,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    event_type enum ('TASK_ASSIGNED','TASK_CREATED','TASK_DELETED','TASK_STATUS_UPDATED','TASK_UPDATED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table task_tags (
+    tag_id bigint not null,
+    task_id bigint not null,
+    primary key (tag_id, task_id)
+) engine=InnoDB;
+
+create table tasks (
+    due_date date,
+    assignee_id bigint,
+    created_at datetime(6) not null,
+    created_by_id bigint not null,
+    deleted_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6) not null,
+    title varchar(50) not null,
+    description TEXT,
+    priority enum ('HIGH','LOW','MEDIUM','URGENT') not null,
+    status enum ('BLOCKED','DONE','IN_PROGRESS','TODO') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+) engine=InnoDB;
+
+create table users (
+    enabled bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6) not null,
+    email varchar(255) not null,
+    full_name varchar(255),
+    password varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table email_verification_tokens
+   add constraint UKewmvysc7e9y6uy7og2c21axa9 unique (token);
+
+create index idx_ntf_recipient_id
+   on notifications (recipient_id);
+
+create index idx_ntf_read_at
+   on notifications (read_at);
+
+create index idx_ntf_created_at
+   on notifications (created_at);
+
+alter table permissions
+   add constraint UKpnvtwliis6p05pn6i3ndjrqt2 unique (name);
+
+alter table refresh_tokens
+   add constraint UKghpmfn23vmxfu3spu3lfg4r2d unique (token);
+
+alter table roles
+   add constraint UKofx66keruapi6vyqpv6f2or37 unique (name);
+
+create index idx_subtask_task_id
+   on subtasks (task_id);
+
+create index idx_subtask_deleted_at
+   on subtasks (deleted_at);
+
+alter table tags
+   add constraint uk_tag_name unique (name);
+
+create index idx_task_comment_task_id
+   on task_comments (task_id);
+
+create index idx_task_comment_deleted_at
+   on task_comments (deleted_at);
+
+create index idx_task_status
+   on tasks (status);
+
+create index idx_task_priority
+   on tasks (priority);
+
+create index idx_task_due_date
+   on tasks (due_date);
+
+create index idx_task_deleted_at
+   on tasks (deleted_at);
+
+
+
+alter table users
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table email_verification_tokens
+   add constraint FKi1c4mmamlb8keqt74k4lrtwhc
+   foreign key (user_id)
+   references users (id);
+
+alter table notifications
+   add constraint FK4sd9fik0uthbk6d9rsxco4uja
+   foreign key (actor_id)
+   references users (id);
+
+alter table notifications
+   add constraint FKqqnsjxlwleyjbxlmm213jaj3f
+   foreign key (recipient_id)
+   references users (id);
+
+alter table refresh_tokens
+   add constraint FK1lih5y2npsf8u5o3vhdb9y0os
+   foreign key (user_id)
+   references users (id);
+
+alter table role_permissions
+   add constraint FKegdk29eiy7mdtefy5c7eirr6e
+   foreign key (permission_id)
+   references permissions (id);
+
+alter table role_permissions
+   add constraint FKn5fotdgk8d1xvo8nav9uv3muc
+   foreign key (role_id)
+   references roles (id);
+
+alter table subtasks
+   add constraint FKsvs126nsj9ohhvwjog5ddp76x
+   foreign key (task_id)
+   references tasks (id);
+
+alter table task_comments
+   add constraint FKtbd7uwo21s4shik5f0mghfk21
+   foreign key (author_id)
+   references users (id);
+
+alter table task_comments
+   add constraint FK9517viwn2geh1gpivj6l9y64u
+   foreign key (task_id)
+   references tasks (id);
+
+alter table task_log_changes
+   add constraint FKm3vn2rggtyeyal7sotrcinryc
+   foreign key (task_log_id)
+   references task_logs (id);
+
+alter table task_logs
+   add constraint FK3300fja545ofa5wr98dydnm0h
+   foreign key (actor_id)
+   references users (id);
+
+alter table task_logs
+   add constraint FKslumv6el85ys5ytniacscgusp
+   foreign key (task_id)
+   references tasks (id);
+
+alter table task_tags
+   add constraint FKeiqe3k9ent7icelm1cihqn164
+   foreign key (tag_id)
+   references tags (id);
+
+alter table task_tags
+   add constraint FK7xi1reghkj37gqwlr1ujxrxll
+   foreign key (task_id)
+   references tasks (id);
+
+alter table tasks
+   add constraint FKekr1dgiqktpyoip3qmp6lxsit
+   foreign key (assignee_id)
+   references users (id);
+
+alter table tasks
+   add constraint FKmeg3m9hk7eyq7u5kpot87f9ey
+   foreign key (created_by_id)
+   references users (id);
+
+alter table user_roles
+   add constraint FKh8ciramu9cc9q3qcqiv4ue8a6
+   foreign key (role_id)
+   references roles (id);
+
+alter table user_roles
+   add constraint FKhfh9dx7w3ubf1co1vdev94g3f
+   foreign key (user_id)
+   references users (id);
@@ -0,0 +1,48 @@
+-- V2: composite index khớp với các query nóng.
+--
+-- MySQL không có partial index ("WHERE deleted_at IS NULL"). Cách tương đương ở đây là đặt deleted_at
+-- ngay sau cột so sánh bằng: `x = ? AND deleted_at IS NULL` trở thành 1 prefix liên tục của index,
+-- nên chỉ các row chưa xoá bị quét và ORDER BY created_at đọc thẳng theo thứ tự index (không filesort).
+--
+-- Index cũ bị thay thế được drop sau khi index mới đã tồn tại (FK vẫn có index prefix phù hợp).
+
+-- tasks: 2 nhánh visibility (createdBy / assignee) và list của admin
+create index idx_task_creator_deleted_created
+    on tasks (created_by_id, deleted_at, created_at);
+
+create index idx_task_assignee_deleted_created
+    on tasks (assignee_id, deleted_at, created_at);
+
+create index idx_task_deleted_created
+    on tasks (deleted_at, created_at);
+
+drop index idx_task_deleted_at on tasks;
+
+-- task_tags: PK (tag_id, task_id) đã phục vụ filter theo tag;
+-- thêm chiều ngược lại để load tags theo danh sách task id
+create index idx_task_tags_task_tag
+    on task_tags (task_id, tag_id);
+
+-- notifications: list theo recipient (+ unreadOnly) order by created_at desc
+create index idx_ntf_recipient_read_created
+    on notifications (recipient_id, read_at, created_at);
+
+drop index idx_ntf_recipient_id on notifications;
+drop index idx_ntf_read_at on notifications;
+
+-- task_logs: list log của 1 task order by created_at desc
+create index idx_task_log_task_created
+    on task_logs (task_id, created_at);
+
+-- subtasks / comments: load theo task, bỏ bản ghi đã xoá
+create index idx_subtask_task_deleted
+    on subtasks (task_id, deleted_at);
+
+drop index idx_subtask_task_id on subtasks;
+drop index idx_subtask_deleted_at on subtasks;
+
+create index idx_task_comment_task_deleted_created
+    on task_comments (task_id, deleted_at, created_at);
+
+drop index idx_task_comment_task_id on task_comments;
+drop index idx_task_comment_deleted_at on task_comments;
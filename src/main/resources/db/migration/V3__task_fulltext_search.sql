@@ -0,0 +1,8 @@
+-- V3: FULLTEXT index cho GET /api/tasks/search (InnoDB tự cập nhật index khi insert/update).
+-- Hibernate @Index không khai báo được FULLTEXT nên chỉ có ở migration.
+
+alter table tasks
+    add fulltext index ft_task_title_description (title, description);
+
+alter table tags
+    add fulltext index ft_tag_name (name);
@@ -0,0 +1,26 @@
+-- V4: pooled id cho tasks / task_logs / task_log_changes / notifications (@TableGenerator, allocationSize = 50).
+-- IDENTITY bắt Hibernate INSERT từng row ngay lúc persist để lấy id, nên không gom được JDBC batch.
+-- Với table generator, mỗi node giữ sẵn 1 khoảng 50 id trong bộ nhớ và chỉ chạm bảng này 1 lần / 50 row.
+--
+-- Pooled optimizer đọc next_val = N thì cấp khoảng [N - 49, N] rồi ghi N + 50, nên seed phải là
+-- MAX(id) + 50 (= allocationSize): khoảng đầu tiên bắt đầu ngay sau id lớn nhất đang có.
+-- Seed bằng MAX(id) sẽ cấp lại 49 id đã tồn tại. Cột id giữ nguyên AUTO_INCREMENT (không đổi cột đang có FK trỏ tới),
+-- nhưng insert tay ngoài ứng dụng có thể trùng id đang nằm trong pool của 1 node: đừng insert tay vào các bảng này.
+
+create table id_generators (
+    next_val bigint,
+    name varchar(255) not null,
+    primary key (name)
+) engine=InnoDB;
+
+insert into id_generators (name, next_val)
+select 'tasks', coalesce(max(id), 0) + 50 from tasks;
+
+insert into id_generators (name, next_val)
+select 'task_logs', coalesce(max(id), 0) + 50 from task_logs;
+
+insert into id_generators (name, next_val)
+select 'task_log_changes', coalesce(max(id), 0) + 50 from task_log_changes;
+
+insert into id_generators (name, next_val)
+select 'notifications', coalesce(max(id), 0) + 50 from notifications;
@@ -0,0 +1,21 @@
+-- V5: transactional outbox cho notification / task log.
+-- Mutation chỉ INSERT 1 row vào đây (cùng transaction), OutboxDispatcher drain theo lô rồi DELETE.
+-- Row còn lại với failed_at != null là event đã vượt quá app.outbox.max-attempts (xem last_error).
+
+create table outbox_events (
+    attempts integer not null,
+    available_at datetime(6) not null,
+    created_at datetime(6) not null,
+    failed_at datetime(6),
+    id bigint not null,
+    last_error varchar(1000),
+    payload TEXT not null,
+    type enum ('NOTIFICATION','TASK_LOG') not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- lockPending: where failed_at is null ... order by id
+create index idx_outbox_failed_id on outbox_events (failed_at, id);
+
+-- bảng rỗng: seed = allocationSize để khoảng đầu tiên là [1, 50] (xem V4)
+insert into id_generators (name, next_val) values ('outbox_events', 50);
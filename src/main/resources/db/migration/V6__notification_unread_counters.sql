@@ -0,0 +1,14 @@
+-- V6: số notification chưa đọc của mỗi user (GET /api/notifications/unread-count).
+-- Được tăng khi OutboxDispatcher ghi notification, giảm khi mark-read; NotificationUnreadCounter.reconcile
+-- đếm lại định kỳ từ bảng notifications. Không có row = 0.
+
+create table notification_unread_counters (
+    user_id bigint not null,
+    unread_count bigint not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+insert into notification_unread_counters (user_id, unread_count)
+select recipient_id, count(*) from notifications
+where read_at is null
+group by recipient_id;
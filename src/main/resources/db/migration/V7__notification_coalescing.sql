@@ -0,0 +1,2 @@
+-- V7: gộp notification lặp lại (vd TASK_UPDATED khi sửa task từng field) vào 1 row, xem NotificationHelper.
+alter table notifications add column coalesced_count integer not null default 1;
@@ -0,0 +1,6 @@
+-- V8: keyset pagination cho notification list (GET /api/notifications/cursor).
+-- List "tất cả" lọc recipient_id rồi order by created_at desc, id desc: với index (recipient_id, read_at, created_at)
+-- read_at nằm giữa nên MySQL phải filesort toàn bộ notification của user. Index này đọc thẳng theo thứ tự và
+-- seek được tới cursor. List unreadOnly vẫn dùng idx_ntf_recipient_read_created (PK được InnoDB gắn cuối index).
+create index idx_ntf_recipient_created_id
+    on notifications (recipient_id, created_at, id);
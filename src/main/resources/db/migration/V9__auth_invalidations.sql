@@ -0,0 +1,13 @@
+-- V9: invalidation của AuthSnapshotCache giữa các node (app.auth.invalidation.mode=db).
+-- Mỗi thay đổi user / role / permission ghi 1 row trong cùng transaction; các node poll theo created_at
+-- trong cửa sổ lookback. user_id null = bỏ hết snapshot. Row cũ hơn retention-seconds được xoá dần.
+-- created_at được node ghi stamp lại = now(6) ngay sau commit (xem JdbcAuthInvalidationBus), nên là giờ commit.
+
+create table auth_invalidations (
+    id bigint not null auto_increment,
+    user_id bigint,
+    created_at datetime(6) not null default current_timestamp(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_auth_invalidations_created on auth_invalidations (created_at);
@@ -0,0 +1,86 @@
+package com.chung.taskcrud.auth.service;
+
+import com.chung.taskcrud.auth.cache.AuthSnapshot;
+import com.chung.taskcrud.auth.helper.PermissionRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Cache token đã verify trong JwtService: đầy thì bỏ token lâu không dùng, token hợp lệ mới luôn được cache.
+// Không cần Spring context: PermissionRegistry được mock.
+class JwtServiceVerifiedCacheTests {
+
+	private static final String SECRET = "verified-cache-test-secret-0123456789abcdef";
+	private static final String VERSION = "v1";
+
+	@Test
+	void fullCacheStillAdmitsNewTokensAndEvictsLeastRecentlyUsed() {
+		JwtService jwtService = newJwtService(100);
+		List<String> tokens = tokens(jwtService, 150);
+
+		VerifiedToken first = verify(jwtService, tokens.get(0));
+		tokens.stream().skip(1).forEach(token -> verify(jwtService, token));
+
+		// token cuối vào sau khi cache đã đầy: lần verify sau lấy đúng instance trong cache
+		String last = tokens.get(tokens.size() - 1);
+		assertThat(verify(jwtService, last)).isSameAs(verify(jwtService, last));
+		// token đầu bị đẩy ra: verify lại, ra instance mới
+		assertThat(verify(jwtService, tokens.get(0))).isNotSameAs(first);
+	}
+
+	// Chỉ in số đo, không assert thời gian. Cache đầy, mỗi lần verify đều miss (ký lại + put + evict):
+	// trước đây mỗi miss quét cả cache để tìm token hết hạn, giờ là O(1).
+	@Test
+	void verifyThroughputWithFullCache() {
+		int cacheSize = 10_000;
+		JwtService jwtService = newJwtService(cacheSize);
+		List<String> tokens = tokens(jwtService, cacheSize * 2);
+
+		tokens.forEach(token -> verify(jwtService, token));
+
+		long start = System.nanoTime();
+		for (int round = 0; round < 3; round++) {
+			tokens.forEach(token -> verify(jwtService, token));
+		}
+		long missNanos = (System.nanoTime() - start) / (3L * tokens.size());
+
+		List<String> hot = tokens.subList(0, 100);
+		hot.forEach(token -> verify(jwtService, token));
+		start = System.nanoTime();
+		for (int round = 0; round < 1_000; round++) {
+			hot.forEach(token -> verify(jwtService, token));
+		}
+		long hitNanos = (System.nanoTime() - start) / (1_000L * hot.size());
+
+		System.out.printf("JwtService.verify (cache %d): full-cache miss %d ns/op, hit %d ns/op%n",
+				cacheSize, missNanos, hitNanos);
+	}
+
+	private JwtService newJwtService(int cacheSize) {
+		PermissionRegistry registry = mock(PermissionRegistry.class);
+		when(registry.version()).thenReturn(VERSION);
+		when(registry.encode(any())).thenReturn(new PermissionRegistry.Encoded(VERSION, "AQ"));
+		when(registry.decode(anyString(), anyString())).thenReturn(Optional.of(List.of()));
+		return new JwtService(SECRET, 3_600_000, cacheSize, false, registry);
+	}
+
+	// userId khác nhau: token ký cùng millisecond vẫn khác nhau
+	private List<String> tokens(JwtService jwtService, int count) {
+		return LongStream.rangeClosed(1, count)
+				.mapToObj(id -> jwtService.generateAccessToken(
+						new AuthSnapshot(id, "user" + id + "@test.local", "x", true, List.of("USER"), List.of("TASK_READ"))))
+				.toList();
+	}
+
+	private VerifiedToken verify(JwtService jwtService, String token) {
+		return jwtService.verify(token).orElseThrow();
+	}
+}
@@ -0,0 +1,134 @@
+package com.chung.taskcrud.notification;
+
+import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.notification.entity.Notification;
+import com.chung.taskcrud.notification.entity.NotificationType;
+import com.chung.taskcrud.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// EXPLAIN list notification theo cursor (NotificationRepository): trang đầu và trang sau cursor
+// đọc thẳng theo index, không filesort.
+// Không dùng @Transactional: ANALYZE TABLE commit ngầm, nên dữ liệu seed được commit thật rồi xoá ở @AfterEach.
+@SpringBootTest
+class NotificationListQueryPlanTests {
+
+	private static final String COLUMNS = "select id, recipient_id, type, title, message, read_at, created_at from notifications";
+	private static final String SEEK = "and created_at <= ? and (created_at < ? or id < ?)";
+	private static final String ORDER = "order by created_at desc, id desc limit 20";
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long recipientId;
+	private Long otherId;
+
+	@BeforeEach
+	void seed() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			User recipient = newUser();
+			User other = newUser();
+
+			// recipient: nửa đã đọc; phần lớn bảng là của user khác
+			notificationRepository.saveAll(IntStream.range(0, 200)
+					.mapToObj(i -> newNotification(recipient, i, i % 2 == 0))
+					.toList());
+			notificationRepository.saveAll(IntStream.range(0, 1_000)
+					.mapToObj(i -> newNotification(other, i, i % 2 == 0))
+					.toList());
+
+			recipientId = recipient.getId();
+			otherId = other.getId();
+		});
+		jdbcTemplate.execute("analyze table notifications");
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from notifications where recipient_id in (?, ?)", recipientId, otherId);
+		jdbcTemplate.update("delete from users where id in (?, ?)", recipientId, otherId);
+	}
+
+	@Test
+	void allNotificationsUseRecipientCreatedIdIndex() {
+		Map<String, Object> cursor = cursorRow(false);
+
+		assertPlan(COLUMNS + " where recipient_id = ? " + ORDER,
+				"idx_ntf_recipient_created_id", recipientId);
+		assertPlan(COLUMNS + " where recipient_id = ? " + SEEK + " " + ORDER,
+				"idx_ntf_recipient_created_id",
+				recipientId, cursor.get("created_at"), cursor.get("created_at"), cursor.get("id"));
+	}
+
+	@Test
+	void unreadNotificationsUseRecipientReadCreatedIndex() {
+		Map<String, Object> cursor = cursorRow(true);
+
+		assertPlan(COLUMNS + " where recipient_id = ? and read_at is null " + ORDER,
+				"idx_ntf_recipient_read_created", recipientId);
+		assertPlan(COLUMNS + " where recipient_id = ? and read_at is null " + SEEK + " " + ORDER,
+				"idx_ntf_recipient_read_created",
+				recipientId, cursor.get("created_at"), cursor.get("created_at"), cursor.get("id"));
+	}
+
+	// cursor = row cuối của trang đầu
+	private Map<String, Object> cursorRow(boolean unreadOnly) {
+		return jdbcTemplate.queryForList(
+				COLUMNS + " where recipient_id = ?" + (unreadOnly ? " and read_at is null " : " ") + ORDER,
+				recipientId).get(19);
+	}
+
+	private void assertPlan(String sql, String expectedIndex, Object... args) {
+		List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, args);
+
+		assertThat(plan).hasSize(1);
+		assertThat(plan.get(0).get("key")).as(sql).isEqualTo(expectedIndex);
+		assertThat(String.valueOf(plan.get(0).get("Extra"))).as(sql).doesNotContain("Using filesort");
+	}
+
+	private User newUser() {
+		return userRepository.save(User.builder()
+				.email(UUID.randomUUID() + "@test.local")
+				.password("x")
+				.enabled(true)
+				.build());
+	}
+
+	private Notification newNotification(User recipient, int i, boolean read) {
+		Instant createdAt = Instant.now().minusSeconds(i);
+		return Notification.builder()
+				.recipient(recipient)
+				.type(NotificationType.TASK_UPDATED)
+				.title("notification " + i)
+				.message("message " + i)
+				.entityType("TASK")
+				.entityId((long) i)
+				.readAt(read ? createdAt : null)
+				.createdAt(createdAt)
+				.build();
+	}
+}
@@ -0,0 +1,119 @@
+package com.chung.taskcrud.task;
+
+import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.entity.TaskPriority;
+import com.chung.taskcrud.task.entity.TaskStatus;
+import com.chung.taskcrud.task.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// EXPLAIN query id của 2 nhánh visibility (TaskRepositoryCustomImpl.selectRows): mỗi nhánh đọc theo index riêng, không filesort.
+// Không dùng @Transactional: ANALYZE TABLE commit ngầm, nên dữ liệu seed được commit thật rồi xoá ở @AfterEach.
+@SpringBootTest
+class TaskBranchQueryPlanTests {
+
+	private static final String CREATOR_BRANCH = "deleted_at is null and created_by_id = ?";
+	private static final String ASSIGNEE_BRANCH = "deleted_at is null and assignee_id = ? and created_by_id <> ?";
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long actorId;
+	private Long otherId;
+
+	@BeforeEach
+	void seed() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			User actor = newUser();
+			User other = newUser();
+
+			// actor chỉ thấy phần nhỏ của bảng: optimizer không có lý do quét PK / index khác
+			taskRepository.saveAll(IntStream.range(0, 30)
+					.mapToObj(i -> newTask("mine " + i, actor, i % 3 == 0 ? other : null))
+					.toList());
+			taskRepository.saveAll(IntStream.range(0, 600)
+					.mapToObj(i -> newTask("other " + i, other, i % 20 == 0 ? actor : other))
+					.toList());
+
+			actorId = actor.getId();
+			otherId = other.getId();
+		});
+		jdbcTemplate.execute("analyze table tasks");
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from tasks where created_by_id in (?, ?)", actorId, otherId);
+		jdbcTemplate.update("delete from users where id in (?, ?)", actorId, otherId);
+	}
+
+	@Test
+	void creatorBranchReadsItsOwnIndex() {
+		assertPlan(
+				"select id, created_at from tasks where " + CREATOR_BRANCH + " order by created_at desc, id desc limit 20",
+				"idx_task_creator_deleted_created", actorId);
+		assertPlan(
+				"select id from tasks where " + CREATOR_BRANCH + " order by id desc limit 20",
+				"idx_task_creator_deleted_id", actorId);
+	}
+
+	@Test
+	void assigneeBranchReadsItsOwnIndex() {
+		assertPlan(
+				"select id, created_at from tasks where " + ASSIGNEE_BRANCH + " order by created_at desc, id desc limit 20",
+				"idx_task_assignee_deleted_created", actorId, actorId);
+		assertPlan(
+				"select id from tasks where " + ASSIGNEE_BRANCH + " order by id desc limit 20",
+				"idx_task_assignee_deleted_id", actorId, actorId);
+	}
+
+	private void assertPlan(String sql, String expectedIndex, Object... args) {
+		List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, args);
+
+		assertThat(plan).hasSize(1);
+		assertThat(plan.get(0).get("key")).as(sql).isEqualTo(expectedIndex);
+		assertThat(String.valueOf(plan.get(0).get("Extra"))).as(sql).doesNotContain("Using filesort");
+	}
+
+	private User newUser() {
+		return userRepository.save(User.builder()
+				.email(UUID.randomUUID() + "@test.local")
+				.password("x")
+				.enabled(true)
+				.build());
+	}
+
+	private Task newTask(String title, User creator, User assignee) {
+		return Task.builder()
+				.title(title)
+				.status(TaskStatus.TODO)
+				.priority(TaskPriority.MEDIUM)
+				.createdBy(creator)
+				.assignee(assignee)
+				.build();
+	}
+}
@@ -0,0 +1,166 @@
+package com.chung.taskcrud.task;
+
+import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.task.comment.entity.TaskComment;
+import com.chung.taskcrud.task.comment.helper.CommentMapper;
+import com.chung.taskcrud.task.comment.repository.TaskCommentRepository;
+import com.chung.taskcrud.task.dto.response.TaskDetailResponse;
+import com.chung.taskcrud.task.entity.Task;
+import com.chung.taskcrud.task.entity.TaskPriority;
+import com.chung.taskcrud.task.entity.TaskStatus;
+import com.chung.taskcrud.task.helper.TaskDetailLoader;
+import com.chung.taskcrud.task.helper.TaskMapper;
+import com.chung.taskcrud.task.repository.TaskRepository;
+import com.chung.taskcrud.task.subtask.entity.Subtask;
+import com.chung.taskcrud.task.subtask.helper.SubtaskMapper;
+import com.chung.taskcrud.task.subtask.repository.SubtaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark GET /api/tasks/{id}: 1 task, 200 subtask, 1000 comment; so sánh load song song và tuần tự.
+// Không dùng @Transactional: subtask/comment được đọc ở transaction khác nên dữ liệu phải commit thật.
+@SpringBootTest
+class TaskDetailLoadBenchmarkTests {
+
+	private static final int SUBTASKS = 200;
+	private static final int COMMENTS = 1_000;
+	private static final int WARMUP = 20;
+	private static final int ITERATIONS = 100;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private SubtaskRepository subtaskRepository;
+
+	@Autowired
+	private TaskCommentRepository commentRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskMapper taskMapper;
+
+	@Autowired
+	private SubtaskMapper subtaskMapper;
+
+	@Autowired
+	private CommentMapper commentMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	@Qualifier("virtualThreadExecutor")
+	private ExecutorService executor;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long userId;
+	private Long taskId;
+
+	@BeforeEach
+	void seed() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			User user = userRepository.save(User.builder()
+					.email(UUID.randomUUID() + "@test.local")
+					.password("x")
+					.enabled(true)
+					.build());
+			Task task = taskRepository.save(Task.builder()
+					.title("detail benchmark")
+					.description("benchmark")
+					.status(TaskStatus.TODO)
+					.priority(TaskPriority.MEDIUM)
+					.createdBy(user)
+					.build());
+
+			subtaskRepository.saveAll(IntStream.range(0, SUBTASKS)
+					.mapToObj(i -> Subtask.builder().task(task).title("subtask " + i).build())
+					.toList());
+			commentRepository.saveAll(IntStream.range(0, COMMENTS)
+					.mapToObj(i -> TaskComment.builder().task(task).author(user).content("comment " + i).build())
+					.toList());
+
+			userId = user.getId();
+			taskId = task.getId();
+		});
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from task_comments where task_id = ?", taskId);
+		jdbcTemplate.update("delete from subtasks where task_id = ?", taskId);
+		jdbcTemplate.update("delete from tasks where id = ?", taskId);
+		jdbcTemplate.update("delete from users where id = ?", userId);
+	}
+
+	@Test
+	void parallelVersusSequentialDetailLoad() {
+		TaskDetailLoader parallel = loader(true);
+		TaskDetailLoader sequential = loader(false);
+
+		TaskDetailResponse a = parallel.load(taskId, t -> { });
+		TaskDetailResponse b = sequential.load(taskId, t -> { });
+		assertThat(a.getSubtasks()).hasSize(SUBTASKS);
+		assertThat(a.getSubtasks()).usingRecursiveFieldByFieldElementComparator().isEqualTo(b.getSubtasks());
+		assertThat(a.getComments()).usingRecursiveFieldByFieldElementComparator().isEqualTo(b.getComments());
+
+		long[] sequentialNanos = measure(sequential);
+		long[] parallelNanos = measure(parallel);
+
+		System.out.printf(
+				"task detail (%d subtasks, %d comments, %d runs): sequential p50=%.2fms p95=%.2fms | parallel p50=%.2fms p95=%.2fms%n",
+				SUBTASKS, COMMENTS, ITERATIONS,
+				millis(sequentialNanos, 0.50), millis(sequentialNanos, 0.95),
+				millis(parallelNanos, 0.50), millis(parallelNanos, 0.95)
+		);
+	}
+
+	private TaskDetailLoader loader(boolean parallelLoad) {
+		return new TaskDetailLoader(
+				taskRepository, subtaskRepository, commentRepository,
+				taskMapper, subtaskMapper, commentMapper,
+				transactionManager, executor, new SimpleMeterRegistry(), parallelLoad
+		);
+	}
+
+	private long[] measure(TaskDetailLoader loader) {
+		for (int i = 0; i < WARMUP; i++) loader.load(taskId, t -> { });
+
+		List<Long> nanos = new ArrayList<>(ITERATIONS);
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			loader.load(taskId, t -> { });
+			nanos.add(System.nanoTime() - start);
+		}
+		long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	private double millis(long[] sorted, double percentile) {
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1_000_000.0;
+	}
+}
@@ -0,0 +1,174 @@
+package com.chung.taskcrud.task;
+
+import com.chung.taskcrud.auth.entity.Permission;
+import com.chung.taskcrud.auth.entity.Role;
+import com.chung.taskcrud.auth.entity.User;
+import com.chung.taskcrud.auth.repository.UserRepository;
+import com.chung.taskcrud.task.dto.request.AssignTaskRequest;
+import com.chung.taskcrud.task.dto.request.CreateTaskRequest;
+import com.chung.taskcrud.task.dto.request.UpdateTaskRequest;
+import com.chung.taskcrud.task.dto.response.TaskResponse;
+import com.chung.taskcrud.task.service.TaskService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Đếm statement Hibernate để bắt N+1 quay lại trên các đường task hay gọi.
+// Statistics là của cả SessionFactory: đẩy các job @Scheduled dùng JPA ra xa để không đếm lẫn query của chúng
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"app.outbox.poll-interval-ms=3600000",
+		"app.notifications.unread-count.reconcile-interval-ms=3600000",
+		"application.security.jwt.permission-registry.refresh-ms=3600000"
+})
+@Transactional
+class TaskQueryCountTests {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+	private User creator;
+	private Authentication auth;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		creator = newUser();
+		auth = new UsernamePasswordAuthenticationToken(creator.getId(), null, List.of(
+				new SimpleGrantedAuthority("TASK_READ"),
+				new SimpleGrantedAuthority("TASK_CREATE"),
+				new SimpleGrantedAuthority("TASK_UPDATE_OWN_OR_ASSIGNED"),
+				new SimpleGrantedAuthority("TASK_ASSIGN")
+		));
+	}
+
+	@Test
+	void listStatementCountDoesNotGrowWithPageSize() {
+		User assignee = newUser();
+		for (int i = 0; i < 25; i++) {
+			taskService.create(auth, creator.getId(), CreateTaskRequest.builder()
+					.title("task " + i)
+					.assigneeId(assignee.getId())
+					.tags(List.of("backend", "tag-" + (i % 3)))
+					.build());
+		}
+
+		long small = countListStatements(5);
+		long large = countListStatements(20);
+
+		// ids + rows + tags cho cả trang: không có query theo từng task / user / tag
+		assertThat(large).isEqualTo(small);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void createUpdateAndAssignOnlyReferenceUsers() {
+		User assignee = newUser();
+		User other = newUser();
+
+		// lần đầu: UserReferenceService nhớ id, pool id của Task/outbox được cấp
+		taskService.create(auth, creator.getId(), CreateTaskRequest.builder()
+				.title("warm up")
+				.assigneeId(assignee.getId())
+				.build());
+		taskService.create(auth, creator.getId(), CreateTaskRequest.builder()
+				.title("warm up other")
+				.assigneeId(other.getId())
+				.build());
+		flushAndClear();
+
+		statistics.clear();
+		TaskResponse created = taskService.create(auth, creator.getId(), CreateTaskRequest.builder()
+				.title("create")
+				.assigneeId(assignee.getId())
+				.build());
+		flushAndClear();
+		long createStatements = statistics.getPrepareStatementCount();
+		assertNoRbacLoads();
+
+		statistics.clear();
+		taskService.update(auth, creator.getId(), created.getId(), UpdateTaskRequest.builder()
+				.title("update")
+				.build());
+		flushAndClear();
+		long updateStatements = statistics.getPrepareStatementCount();
+		assertNoRbacLoads();
+
+		statistics.clear();
+		taskService.assign(auth, creator.getId(), created.getId(), AssignTaskRequest.builder()
+				.assigneeId(other.getId())
+				.build());
+		flushAndClear();
+		long assignStatements = statistics.getPrepareStatementCount();
+		assertNoRbacLoads();
+
+		// create: insert task, insert 2 outbox event (1 batch), 1 select users cho email creator + assignee
+		// (2 proxy gom 1 query nhờ default_batch_fetch_size)
+		assertThat(createStatements).isEqualTo(3);
+		// update: select task kèm creator/assignee/tags, update task, insert 2 outbox event (1 batch)
+		assertThat(updateStatements).isEqualTo(3);
+		// assign: như update + 1 select users cho email assignee mới trong response
+		assertThat(assignStatements).isEqualTo(4);
+	}
+
+	// user chỉ là FK trên write path: roles / permissions (LAZY) không được chạm tới
+	private void assertNoRbacLoads() {
+		assertThat(statistics.getCollectionStatistics(User.class.getName() + ".roles").getFetchCount()).isZero();
+		assertThat(statistics.getEntityStatistics(Role.class.getName()).getLoadCount()).isZero();
+		assertThat(statistics.getEntityStatistics(Permission.class.getName()).getLoadCount()).isZero();
+	}
+
+	private long countListStatements(int size) {
+		flushAndClear();
+		statistics.clear();
+
+		var page = taskService.list(
+				auth, creator.getId(), null, null, null, null, null, null, true,
+				PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt"))
+		);
+		assertThat(page.getItems()).hasSize(size);
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private User newUser() {
+		return userRepository.save(User.builder()
+				.email(UUID.randomUUID() + "@test.local")
+				.password("x")
+				.enabled(true)
+				.build());
+	}
+
+	private void flushAndClear() {
+		entityManager.flush();
+		entityManager.clear();
+	}
+}
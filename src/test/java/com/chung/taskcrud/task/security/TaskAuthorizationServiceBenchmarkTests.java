@@ -0,0 +1,92 @@
+package com.chung.taskcrud.task.security;
+
+import com.chung.taskcrud.auth.security.TokenAuthentication;
+import com.chung.taskcrud.auth.service.VerifiedToken;
+import com.chung.taskcrud.common.exception.AppException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Microbenchmark check quyền: TokenAuthentication (EnumSet dựng sẵn) so với duyệt authorities theo tên
+// (cách cũ, vẫn là fallback cho Authentication khác). Chỉ in số đo, không assert thời gian.
+class TaskAuthorizationServiceBenchmarkTests {
+
+	private static final long ACTOR_ID = 1L;
+	private static final int WARMUP = 200_000;
+	private static final int ITERATIONS = 2_000_000;
+
+	private final TaskAuthorizationService authorizationService = new TaskAuthorizationService();
+
+	@Test
+	void tokenAuthenticationDecidesLikeAuthorityScan() {
+		List<GrantedAuthority> authorities = userAuthorities();
+		Authentication token = tokenAuth(authorities);
+		Authentication scan = scanAuth(authorities);
+
+		for (Authentication auth : List.of(token, scan)) {
+			assertThat(authorizationService.isSystemAdmin(auth)).isFalse();
+			authorizationService.assertCanModify(auth, ACTOR_ID, ACTOR_ID, null);
+			authorizationService.assertCanView(auth, ACTOR_ID, 2L, ACTOR_ID);
+			assertThatThrownBy(() -> authorizationService.assertCanModify(auth, ACTOR_ID, 2L, 3L))
+					.isInstanceOf(AppException.class);
+			// user thường không có TASK_DELETE_OWN_OR_ASSIGNED
+			assertThatThrownBy(() -> authorizationService.assertCanDelete(auth, ACTOR_ID, ACTOR_ID, null))
+					.isInstanceOf(AppException.class);
+		}
+	}
+
+	@Test
+	void assertCanModifyCost() {
+		List<GrantedAuthority> authorities = userAuthorities();
+		Authentication token = tokenAuth(authorities);
+		Authentication scan = scanAuth(authorities);
+
+		// assertCanModify của user thường: check SYSTEM_ADMIN (miss, duyệt hết authorities) + TASK_UPDATE_OWN_OR_ASSIGNED
+		measure(token);
+		measure(scan);
+		double tokenNanos = measure(token);
+		double scanNanos = measure(scan);
+
+		System.out.printf("assertCanModify (%d authorities): EnumSet %.1f ns/op, authority scan %.1f ns/op%n",
+				authorities.size(), tokenNanos, scanNanos);
+	}
+
+	private double measure(Authentication auth) {
+		for (int i = 0; i < WARMUP; i++) {
+			authorizationService.assertCanModify(auth, ACTOR_ID, ACTOR_ID, null);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			authorizationService.assertCanModify(auth, ACTOR_ID, ACTOR_ID, null);
+		}
+		return (System.nanoTime() - start) / (double) ITERATIONS;
+	}
+
+	// ROLE_USER + permission của user thường + vài permission admin tự tạo (chỉ có trong authorities)
+	private List<GrantedAuthority> userAuthorities() {
+		List<GrantedAuthority> authorities = new ArrayList<>();
+		authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+		authorities.add(new SimpleGrantedAuthority("TASK_READ"));
+		authorities.add(new SimpleGrantedAuthority("TASK_CREATE"));
+		IntStream.range(0, 15).forEach(i -> authorities.add(new SimpleGrantedAuthority("REPORT_VIEW_" + i)));
+		authorities.add(new SimpleGrantedAuthority("TASK_UPDATE_OWN_OR_ASSIGNED"));
+		return authorities;
+	}
+
+	private Authentication tokenAuth(List<GrantedAuthority> authorities) {
+		return new TokenAuthentication(new VerifiedToken(ACTOR_ID, "user@test.local", authorities, "v1", Long.MAX_VALUE));
+	}
+
+	private Authentication scanAuth(List<GrantedAuthority> authorities) {
+		return new UsernamePasswordAuthenticationToken(ACTOR_ID, null, authorities);
+	}
+}